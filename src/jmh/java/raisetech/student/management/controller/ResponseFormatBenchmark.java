@@ -0,0 +1,107 @@
+package raisetech.student.management.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import raisetech.student.management.config.CborConfig;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 一覧検索のレスポンス（受講生詳細の一覧とコース詳細の一覧）を、JSONとCBORに変換する時間を比較するベンチマークです。
+ * JSONはアプリケーションと同じ設定（Jackson2ObjectMapperBuilder）のObjectMapperで、
+ * CBORは {@link CborConfig} と同じ設定（列挙型は順序、日時はエポックミリ秒）のObjectMapperで変換します。
+ * それぞれの形式での1回あたりのバイト数は、準備の時点で標準出力に出力します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseFormatBenchmark {
+
+  private static final String[] COURSE_NAMES = {"Javaコース", "AWSコース", "デザインコース", "Webマーケティングコース"};
+
+  @Param({"100", "1000"})
+  private int students;
+
+  private List<StudentDetail> studentDetails;
+  private List<CourseDetail> courseDetails;
+  private ObjectMapper jsonMapper;
+  private ObjectMapper cborMapper;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    LocalDateTime now = LocalDateTime.of(2024, 4, 1, 10, 0);
+    CourseStatus.Status[] statuses = CourseStatus.Status.values();
+    studentDetails = new ArrayList<>(students);
+    courseDetails = new ArrayList<>(students * 3);
+    int courseId = 1;
+    for (int id = 1; id <= students; id++) {
+      Student student = new Student();
+      student.setId(id);
+      student.setName("受講生" + id);
+      student.setFurigana("じゅこうせい");
+      student.setNickname("ニックネーム");
+      student.setEmail("student" + id + "@example.com");
+      student.setCity("東京");
+      student.setAge(20 + id % 40);
+      student.setGender("女性");
+      List<StudentCourse> studentCourses = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        LocalDateTime startDate = now.plusDays(courseId);
+        StudentCourse studentCourse = new StudentCourse(courseId, id,
+            COURSE_NAMES[courseId % COURSE_NAMES.length], startDate, startDate.plusYears(1));
+        studentCourses.add(studentCourse);
+        courseDetails.add(new CourseDetail(studentCourse,
+            new CourseStatus(courseId, courseId, statuses[courseId % statuses.length])));
+        courseId++;
+      }
+      studentDetails.add(new StudentDetail(student, studentCourses));
+    }
+
+    // Spring Bootの既定と同じく、日時はISO-8601の文字列で出力する
+    jsonMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    cborMapper = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+    System.out.printf(
+        "%n受講生%d件: 受講生詳細 JSON %,dバイト / CBOR %,dバイト、コース詳細 JSON %,dバイト / CBOR %,dバイト%n", students,
+        jsonMapper.writeValueAsBytes(studentDetails).length, cborMapper.writeValueAsBytes(studentDetails).length,
+        jsonMapper.writeValueAsBytes(courseDetails).length, cborMapper.writeValueAsBytes(courseDetails).length);
+  }
+
+  @Benchmark
+  public byte[] studentDetailsJson() throws JsonProcessingException {
+    return jsonMapper.writeValueAsBytes(studentDetails);
+  }
+
+  @Benchmark
+  public byte[] studentDetailsCbor() throws JsonProcessingException {
+    return cborMapper.writeValueAsBytes(studentDetails);
+  }
+
+  @Benchmark
+  public byte[] courseDetailsJson() throws JsonProcessingException {
+    return jsonMapper.writeValueAsBytes(courseDetails);
+  }
+
+  @Benchmark
+  public byte[] courseDetailsCbor() throws JsonProcessingException {
+    return cborMapper.writeValueAsBytes(courseDetails);
+  }
+}
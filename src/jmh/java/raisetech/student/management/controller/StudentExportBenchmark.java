@@ -0,0 +1,90 @@
+package raisetech.student.management.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.controller.converter.StudentConverter;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+
+/**
+ * 全件エクスポート（受講生と受講生コース情報の突き合わせとNDJSONへの書き出し）のベンチマークです。
+ * データベースの読み出しを除いた、アプリケーション側の処理の1回あたりの時間を計測します。
+ * 1秒あたりの出力件数は students / 計測時間 で求められます（例: 1,000,000件で2秒なら50万件/秒）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentExportBenchmark {
+
+  @Param({"100000", "1000000"})
+  private int students;
+
+  private List<Student> studentList;
+  private List<StudentCourse> studentCourseList;
+  private StudentConverter converter;
+  private ObjectMapper objectMapper;
+  private ObjectWriter writer;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    studentList = new ArrayList<>(students);
+    studentCourseList = new ArrayList<>(students * 3);
+    int courseId = 1;
+    for (int id = 1; id <= students; id++) {
+      Student student = new Student();
+      student.setId(id);
+      student.setName("受講生" + id);
+      student.setFurigana("じゅこうせい");
+      student.setNickname("ニックネーム");
+      student.setEmail("student" + id + "@example.com");
+      student.setCity("東京");
+      student.setAge(20 + id % 40);
+      student.setGender("女性");
+      studentList.add(student);
+      for (int i = 0; i < 3; i++) {
+        studentCourseList.add(new StudentCourse(courseId++, id, "Javaコース", now, now.plusYears(1)));
+      }
+    }
+
+    converter = new StudentConverter();
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Benchmark
+  public void exportNdjson() throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory()
+        .createGenerator(OutputStream.nullOutputStream())) {
+      generator.setRootValueSeparator(null);
+      converter.convertSortedStudentDetails(studentList, studentCourseList, studentDetail -> {
+        try {
+          writer.writeValue(generator, studentDetail);
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+}
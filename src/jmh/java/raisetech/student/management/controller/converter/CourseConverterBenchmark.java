@@ -0,0 +1,70 @@
+package raisetech.student.management.controller.converter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseDetail;
+
+/**
+ * コース詳細の組み立て（受講生コース情報とコース申込状況の突き合わせ）のベンチマークです。
+ * コースごとに申込状況を全件走査する従来の実装と、受講生コースIDの索引を使う現在の実装を比較します。
+ * rowsは受講生コース情報とコース申込状況それぞれの件数です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CourseConverterBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  private int rows;
+
+  private List<StudentCourse> studentCourses;
+  private List<CourseStatus> courseStatuses;
+  private CourseConverter converter;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    CourseStatus.Status[] statuses = CourseStatus.Status.values();
+
+    studentCourses = new ArrayList<>(rows);
+    courseStatuses = new ArrayList<>(rows);
+    for (int id = 1; id <= rows; id++) {
+      studentCourses.add(new StudentCourse(id, id, "Javaコース", now, now.plusYears(1)));
+      courseStatuses.add(new CourseStatus(id, id, statuses[id % statuses.length]));
+    }
+    // 申込状況テーブルの並び順はコースの並び順と一致しないため、シャッフルしておく
+    Collections.shuffle(courseStatuses, new Random(42));
+
+    converter = new CourseConverter();
+  }
+
+  @Benchmark
+  public List<CourseDetail> indexedLookup() {
+    return converter.convertToCourseDetails(studentCourses, courseStatuses);
+  }
+
+  @Benchmark
+  public List<CourseDetail> linearScan() {
+    return studentCourses.stream()
+        .map(studentCourse -> converter.convertToCourseDetail(studentCourse, courseStatuses.stream()
+            .filter(status -> status.getCourseId() == studentCourse.getId())
+            .findFirst()
+            .orElse(null)))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,80 @@
+package raisetech.student.management.controller.converter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 受講生詳細の組み立て（受講生と受講生コース情報の突き合わせ）のベンチマークです。
+ * 受講生ごとに受講生コース情報を全件走査する従来の実装と、受講生IDでまとめてから突き合わせる現在の実装を比較します。
+ * rowsは受講生コース情報の件数で、受講生は1人あたり平均3コースとなる件数を生成します。
+ * 従来の実装は件数の2乗に比例するため、1,000,000件では1回の計測に非常に長い時間がかかります。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentConverterBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int rows;
+
+  private List<Student> studentList;
+  private List<StudentCourse> studentCourseList;
+  private StudentConverter converter;
+
+  @Setup
+  public void setUp() {
+    int studentCount = Math.max(rows / 3, 1);
+    Random random = new Random(42);
+    LocalDateTime now = LocalDateTime.now();
+
+    studentList = new ArrayList<>(studentCount);
+    for (int id = 1; id <= studentCount; id++) {
+      Student student = new Student();
+      student.setId(id);
+      student.setName("受講生" + id);
+      studentList.add(student);
+    }
+
+    studentCourseList = new ArrayList<>(rows);
+    for (int id = 1; id <= rows; id++) {
+      studentCourseList.add(new StudentCourse(id, random.nextInt(studentCount) + 1, "Javaコース",
+          now, now.plusYears(1)));
+    }
+
+    converter = new StudentConverter();
+  }
+
+  @Benchmark
+  public List<StudentDetail> groupedJoin() {
+    return converter.convertStudentDetails(studentList, studentCourseList);
+  }
+
+  @Benchmark
+  public List<StudentDetail> perStudentScan() {
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    studentList.forEach(student -> {
+      StudentDetail studentDetail = new StudentDetail();
+      studentDetail.setStudent(student);
+      studentDetail.setStudentCourseList(studentCourseList.stream()
+          .filter(studentCourse -> student.getId() == studentCourse.getStudentId())
+          .collect(Collectors.toList()));
+      studentDetails.add(studentDetail);
+    });
+    return studentDetails;
+  }
+}
@@ -0,0 +1,76 @@
+package raisetech.student.management.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * ベンチマーク用のインメモリデータベース（H2、MySQL互換モード）です。
+ * アプリケーションと同じマイグレーション（db/migration）でテーブルを作成し、
+ * 同じマッパーXMLを読み込んだSqlSessionFactoryを、Springを起動せずに作成します。
+ */
+public final class BenchmarkDatabase {
+
+  private final JdbcDataSource dataSource;
+  private final SqlSessionFactory sqlSessionFactory;
+
+  private BenchmarkDatabase(JdbcDataSource dataSource, SqlSessionFactory sqlSessionFactory) {
+    this.dataSource = dataSource;
+    this.sqlSessionFactory = sqlSessionFactory;
+  }
+
+  /**
+   * 空のテーブルを持つデータベースを作成します。
+   *
+   * @param name データベース名（ベンチマークごとに別の名前を指定してください）
+   * @return ベンチマーク用データベース
+   */
+  public static BenchmarkDatabase create(String name) throws SQLException, IOException {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+    dataSource.setUser("sa");
+    execute(dataSource, "DROP ALL OBJECTS");
+    Flyway.configure().dataSource(dataSource).load().migrate();
+
+    Configuration configuration = new Configuration(
+        new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+    configuration.setMapUnderscoreToCamelCase(true);
+    String resource = "mapper/studentRepository.xml";
+    try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+      new XMLMapperBuilder(inputStream, configuration, resource, configuration.getSqlFragments())
+          .parse();
+    }
+    return new BenchmarkDatabase(dataSource, new SqlSessionFactoryBuilder().build(configuration));
+  }
+
+  public SqlSessionFactory getSqlSessionFactory() {
+    return sqlSessionFactory;
+  }
+
+  /**
+   * SQLを実行します。
+   *
+   * @param sql SQL
+   */
+  public void execute(String sql) throws SQLException {
+    execute(dataSource, sql);
+  }
+
+  private static void execute(JdbcDataSource dataSource, String sql) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+}
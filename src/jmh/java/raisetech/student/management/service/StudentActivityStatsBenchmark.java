@@ -0,0 +1,112 @@
+package raisetech.student.management.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import raisetech.student.management.data.CourseStatus.Status;
+
+/**
+ * 受講生の登録・申込状況の変更の統計を、64スレッドから同時に記録するベンチマークです。1秒あたりの書き込み回数を比較します。
+ * <ul>
+ *   <li>withoutStats: 統計を記録しない書き込み処理（登録処理の代わりに一定量の計算を行う）</li>
+ *   <li>withStats: 書き込み処理に加えて、{@link StudentActivityStats} に登録・受講登録・申込状況の変更を記録する</li>
+ *   <li>withLockedStats: 同じ統計を1つのロックで保護したカウンタに記録する</li>
+ *   <li>readWhileWriting: 63スレッドが記録している間に、1スレッドが1秒あたりの登録数とコース名ごとの受講登録数を読み続ける</li>
+ * </ul>
+ * withStats が withoutStats とほぼ同じ回数になり、withLockedStats はスレッド数が増えるほどロックの待ちで遅くなることを確かめます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentActivityStatsBenchmark {
+
+  private static final String[] COURSE_NAMES = {
+      "Javaコース", "AWSコース", "デザインコース", "Webマーケティングコース",
+      "映像制作コース", "フロントエンドコース", "Pythonコース", "データサイエンスコース"};
+
+  private static final Status[] STATUSES = Status.values();
+
+  /**
+   * 統計の記録以外に書き込み処理で行う計算量（Blackhole.consumeCPU のトークン数）
+   */
+  private static final int WORK_TOKENS = 200;
+
+  private StudentActivityStats stats;
+  private LockedStats lockedStats;
+
+  @Setup
+  public void setUp() {
+    stats = new StudentActivityStats();
+    lockedStats = new LockedStats();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void withoutStats() {
+    Blackhole.consumeCPU(WORK_TOKENS);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void withStats() {
+    Blackhole.consumeCPU(WORK_TOKENS);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    stats.recordRegistration();
+    stats.recordEnrollment(COURSE_NAMES[random.nextInt(COURSE_NAMES.length)]);
+    stats.recordStatusChange(STATUSES[random.nextInt(STATUSES.length)],
+        STATUSES[random.nextInt(STATUSES.length)]);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void withLockedStats() {
+    Blackhole.consumeCPU(WORK_TOKENS);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    lockedStats.record(COURSE_NAMES[random.nextInt(COURSE_NAMES.length)],
+        STATUSES[random.nextInt(STATUSES.length)], STATUSES[random.nextInt(STATUSES.length)]);
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(63)
+  public void write() {
+    withStats();
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(1)
+  public void read(Blackhole blackhole) {
+    blackhole.consume(stats.registrationsPerSecond(Duration.ofMinutes(1)));
+    blackhole.consume(stats.enrollmentCounts());
+  }
+
+  /**
+   * 比較用の、1つのロックで全ての件数を保護する統計です。
+   */
+  private static final class LockedStats {
+
+    private long registrations;
+    private final long[] statusChanges = new long[STATUSES.length * STATUSES.length];
+    private final Map<String, Long> enrollments = new HashMap<>();
+
+    synchronized void record(String courseName, Status from, Status to) {
+      registrations++;
+      enrollments.merge(courseName, 1L, Long::sum);
+      statusChanges[from.ordinal() * STATUSES.length + to.ordinal()]++;
+    }
+  }
+}
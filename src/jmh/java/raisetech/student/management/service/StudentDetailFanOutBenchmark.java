@@ -0,0 +1,90 @@
+package raisetech.student.management.service;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import raisetech.student.management.controller.converter.CourseConverter;
+import raisetech.student.management.controller.converter.StudentConverter;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生詳細の読み込みのベンチマークです。1回の検索に latencyMillis ミリ秒かかる遅いデータベースを模したリポジトリで、
+ * 受講生と受講生コース情報の2つの検索を順番に実行する従来の実装と、並行して実行する現在の実装のレイテンシを比較します。
+ * 並行実行では、レイテンシが2つの検索の合計からおおよそ遅い方の1つ分まで短くなります。
+ * キャッシュの最大件数は0にし、毎回リポジトリから読み込みます。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentDetailFanOutBenchmark {
+
+  private static final int COURSES = 10;
+
+  @Param({"5", "20"})
+  private int latencyMillis;
+
+  private StudentRepository repository;
+  private StudentConverter studentConverter;
+  private StudentService service;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    Student student = new Student();
+    student.setId(1);
+    student.setName("田中太郎");
+    List<StudentCourse> studentCourses = new ArrayList<>(COURSES);
+    for (int id = 1; id <= COURSES; id++) {
+      studentCourses.add(new StudentCourse(id, 1, "Javaコース", now, now.plusYears(1)));
+    }
+
+    repository = (StudentRepository) Proxy.newProxyInstance(
+        StudentRepository.class.getClassLoader(), new Class<?>[]{StudentRepository.class},
+        (proxy, method, args) -> {
+          Thread.sleep(latencyMillis);
+          return switch (method.getName()) {
+            case "searchStudent" -> student;
+            case "searchStudentCoursesByStudentId" -> studentCourses;
+            default -> throw new UnsupportedOperationException(method.getName());
+          };
+        });
+    studentConverter = new StudentConverter();
+    service = new StudentService(repository, studentConverter, new CourseConverter(),
+        new StudentDetailCache(0, Duration.ofMinutes(1)), new StudentSearchIndex(),
+        new CourseStatusCounter(repository), new StudentActivityStats(), null,
+        new ParallelReads(virtualThreadExecutor()));
+  }
+
+  private static SimpleAsyncTaskExecutor virtualThreadExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("parallel-read-");
+    executor.setVirtualThreads(true);
+    return executor;
+  }
+
+  @Benchmark
+  public StudentDetail sequential() {
+    Student student = repository.searchStudent(1);
+    List<StudentCourse> studentCourses = repository.searchStudentCoursesByStudentId(1);
+    return studentConverter.convertToStudentDetail(student, studentCourses);
+  }
+
+  @Benchmark
+  public StudentDetail parallel() {
+    return service.searchStudent(1);
+  }
+}
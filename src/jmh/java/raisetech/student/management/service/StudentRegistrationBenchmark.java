@@ -0,0 +1,132 @@
+package raisetech.student.management.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.repository.BenchmarkDatabase;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生登録のベンチマークです。1回の呼び出しで500人（1人1コース）を登録し、1秒あたりの登録人数を計測します。
+ * <ul>
+ *   <li>singleInsert: 従来どおり1人ごとに受講生・受講生コース・申込状況を1件ずつINSERTする</li>
+ *   <li>jdbcBatch: ExecutorType.BATCHで1件ずつのINSERTをJDBCバッチにまとめる（表ごとにフラッシュして採番IDを取得）</li>
+ *   <li>multiRowInsert: 一括登録と同じく、表ごとに複数行INSERTを1回ずつ実行する</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentRegistrationBenchmark {
+
+  private static final int STUDENTS = 500;
+
+  private BenchmarkDatabase database;
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    database = BenchmarkDatabase.create("registration");
+    sqlSessionFactory = database.getSqlSessionFactory();
+  }
+
+  @Setup(Level.Iteration)
+  public void truncate() throws Exception {
+    database.execute("DELETE FROM course_status");
+    database.execute("DELETE FROM students_courses");
+    database.execute("DELETE FROM students");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STUDENTS)
+  public void singleInsert() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.SIMPLE, false)) {
+      StudentRepository repository = session.getMapper(StudentRepository.class);
+      for (Student student : createStudents()) {
+        repository.registerStudent(student);
+        StudentCourse studentCourse = createStudentCourse(student);
+        repository.registerStudentCourse(studentCourse);
+        repository.registerCourseStatus(new CourseStatus(0, studentCourse.getId(), CourseStatus.Status.仮申込));
+      }
+      session.commit();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STUDENTS)
+  public void jdbcBatch() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+      StudentRepository repository = session.getMapper(StudentRepository.class);
+      List<Student> studentList = createStudents();
+      studentList.forEach(repository::registerStudent);
+      session.flushStatements();
+
+      List<StudentCourse> studentCourses = studentList.stream()
+          .map(StudentRegistrationBenchmark::createStudentCourse)
+          .toList();
+      studentCourses.forEach(repository::registerStudentCourse);
+      session.flushStatements();
+
+      studentCourses.forEach(studentCourse -> repository.registerCourseStatus(
+          new CourseStatus(0, studentCourse.getId(), CourseStatus.Status.仮申込)));
+      session.commit();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(STUDENTS)
+  public void multiRowInsert() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.SIMPLE, false)) {
+      StudentRepository repository = session.getMapper(StudentRepository.class);
+      List<Student> studentList = createStudents();
+      repository.registerStudents(studentList);
+
+      List<StudentCourse> studentCourses = studentList.stream()
+          .map(StudentRegistrationBenchmark::createStudentCourse)
+          .toList();
+      repository.registerStudentCourses(studentCourses);
+
+      repository.registerCourseStatuses(studentCourses.stream()
+          .map(studentCourse -> new CourseStatus(0, studentCourse.getId(), CourseStatus.Status.仮申込))
+          .toList());
+      session.commit();
+    }
+  }
+
+  private List<Student> createStudents() {
+    List<Student> studentList = new ArrayList<>(STUDENTS);
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName("受講生" + i);
+      student.setFurigana("じゅこうせい");
+      student.setNickname("ニックネーム");
+      student.setEmail("student" + i + "@example.com");
+      student.setCity("東京");
+      student.setAge(20);
+      student.setGender("女性");
+      studentList.add(student);
+    }
+    return studentList;
+  }
+
+  private static StudentCourse createStudentCourse(Student student) {
+    LocalDateTime now = LocalDateTime.now();
+    return new StudentCourse(0, student.getId(), "Javaコース", now, now.plusYears(1));
+  }
+}
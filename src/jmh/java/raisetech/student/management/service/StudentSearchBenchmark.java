@@ -0,0 +1,106 @@
+package raisetech.student.management.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.domain.StudentSearchResponse;
+import raisetech.student.management.repository.BenchmarkDatabase;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 名前と居住地域の部分一致検索のベンチマークです。rows人の受講生を登録したデータベースで、
+ * LIKEで全件を走査する検索と、検索インデックスで絞り込んだ受講生IDで検索する現在の実装を比較します。
+ * 名前は姓30種類と名（漢字2文字）1,600種類の組み合わせで、1つの氏名に該当する受講生はrowsの約1/48,000です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentSearchBenchmark {
+
+  private static final String[] FAMILY_NAMES = {
+      "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+      "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水",
+      "山崎", "森", "池田", "橋本", "阿部", "石川", "山下", "中島", "石井", "小川"};
+  private static final String GIVEN_NAME_CHARACTERS =
+      "太郎次健一翔大輔真美花子優奈彩香陽菜結愛悠人蓮湊樹颯拓海直貴和也智恵理沙由佳";
+  private static final String[] CITIES = {
+      "北海道", "青森県", "宮城県", "東京都", "神奈川県", "埼玉県", "千葉県", "愛知県", "京都府", "大阪府",
+      "兵庫県", "広島県", "福岡県", "沖縄県"};
+  private static final int CHUNK = 1000;
+
+  @Param({"100000", "1000000"})
+  private int rows;
+
+  private SqlSessionFactory sqlSessionFactory;
+  private StudentSearchIndex index;
+  private String name;
+  private String city;
+
+  @Setup
+  public void setUp() throws Exception {
+    BenchmarkDatabase database = BenchmarkDatabase.create("search");
+    sqlSessionFactory = database.getSqlSessionFactory();
+    Random random = new Random(42);
+
+    List<Student> students = new ArrayList<>(rows);
+    try (SqlSession session = sqlSessionFactory.openSession(false)) {
+      StudentRepository repository = session.getMapper(StudentRepository.class);
+      List<Student> chunk = new ArrayList<>(CHUNK);
+      for (int i = 0; i < rows; i++) {
+        Student student = new Student();
+        student.setName(FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)]
+            + GIVEN_NAME_CHARACTERS.charAt(random.nextInt(GIVEN_NAME_CHARACTERS.length()))
+            + GIVEN_NAME_CHARACTERS.charAt(random.nextInt(GIVEN_NAME_CHARACTERS.length())));
+        student.setFurigana("じゅこうせい");
+        student.setEmail("student" + i + "@example.com");
+        student.setCity(CITIES[random.nextInt(CITIES.length)]);
+        student.setAge(20);
+        student.setGender("女性");
+        chunk.add(student);
+        if (chunk.size() == CHUNK || i == rows - 1) {
+          repository.registerStudents(chunk);
+          students.addAll(chunk);
+          chunk = new ArrayList<>(CHUNK);
+        }
+      }
+      session.commit();
+    }
+
+    index = new StudentSearchIndex();
+    index.rebuild(students);
+    name = students.get(0).getName();
+    city = students.get(0).getCity().substring(0, 2);
+  }
+
+  @Benchmark
+  public List<StudentSearchResponse> likeScan() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(StudentRepository.class)
+          .searchIntegratedDetails(name, null, city, null, null, null, null, null, null);
+    }
+  }
+
+  @Benchmark
+  public List<StudentSearchResponse> bigramIndex() {
+    List<Integer> candidateIds = index.search(name, null, city).orElse(null);
+    if (candidateIds != null && candidateIds.isEmpty()) {
+      return List.of();
+    }
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      return session.getMapper(StudentRepository.class)
+          .searchIntegratedDetails(name, null, city, null, null, null, null, candidateIds, null);
+    }
+  }
+}
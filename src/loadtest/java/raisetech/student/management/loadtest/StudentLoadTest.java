@@ -0,0 +1,137 @@
+package raisetech.student.management.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 起動中のアプリケーションに対して一定時間リクエストを送り続け、パスごとのスループットとレイテンシを計測する負荷試験です。
+ * スレッドプール（既定）と仮想スレッド（spring.threads.virtual.enabled=true）でそれぞれアプリケーションを起動し、
+ * 同じ条件で実行した結果を比較します。
+ *
+ * <pre>
+ * ./gradlew bootRun --args='--spring.threads.virtual.enabled=false'
+ * ./gradlew loadTest -Plabel=platform -Pconcurrency=400
+ *
+ * ./gradlew bootRun --args='--spring.threads.virtual.enabled=true'
+ * ./gradlew loadTest -Plabel=virtual -Pconcurrency=400
+ * </pre>
+ *
+ * 引数: ラベル、ベースURL、同時接続数、計測時間（秒）、ウォームアップ時間（秒）、パス（カンマ区切り）
+ */
+public class StudentLoadTest {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  public static void main(String[] args) throws Exception {
+    String label = arg(args, 0, "default");
+    String baseUrl = arg(args, 1, "http://localhost:8080");
+    int concurrency = Integer.parseInt(arg(args, 2, "200"));
+    int durationSeconds = Integer.parseInt(arg(args, 3, "30"));
+    int warmupSeconds = Integer.parseInt(arg(args, 4, "5"));
+    List<String> paths = Arrays.asList(arg(args, 5, "/Student/1,/students").split(","));
+
+    // クライアント側が律速にならないよう、リクエストの送信は仮想スレッドで行う
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient client = HttpClient.newBuilder()
+          .executor(executor)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+      System.out.printf("label=%s baseUrl=%s concurrency=%d duration=%ds warmup=%ds%n",
+          label, baseUrl, concurrency, durationSeconds, warmupSeconds);
+      System.out.printf("%-20s %10s %10s %8s %10s %10s %10s %10s%n",
+          "path", "requests", "req/s", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)");
+      for (String path : paths) {
+        URI uri = URI.create(baseUrl + path);
+        run(client, executor, uri, concurrency, Duration.ofSeconds(warmupSeconds));
+        Result result = run(client, executor, uri, concurrency, Duration.ofSeconds(durationSeconds));
+        System.out.printf("%-20s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+            path, result.requests(), result.requests() / (double) durationSeconds, result.errors(),
+            result.percentile(0.50), result.percentile(0.90), result.percentile(0.99),
+            result.percentile(1.0));
+      }
+    }
+  }
+
+  /**
+   * 同時接続数分のクライアントから、指定時間が経過するまで同じURIにリクエストを送り続けます。
+   */
+  private static Result run(HttpClient client, ExecutorService executor, URI uri, int concurrency,
+      Duration duration) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+    long deadline = System.nanoTime() + duration.toNanos();
+    AtomicLong errors = new AtomicLong();
+
+    List<Future<long[]>> workers = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      workers.add(executor.submit(() -> {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+          long start = System.nanoTime();
+          try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+              errors.incrementAndGet();
+            }
+          } catch (Exception e) {
+            errors.incrementAndGet();
+          }
+          if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+          }
+          latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+      }));
+    }
+
+    List<long[]> results = new ArrayList<>(concurrency);
+    int total = 0;
+    for (Future<long[]> worker : workers) {
+      long[] latencies = worker.get();
+      results.add(latencies);
+      total += latencies.length;
+    }
+    long[] latencies = new long[total];
+    int offset = 0;
+    for (long[] result : results) {
+      System.arraycopy(result, 0, latencies, offset, result.length);
+      offset += result.length;
+    }
+    Arrays.sort(latencies);
+    return new Result(latencies, errors.get());
+  }
+
+  private static String arg(String[] args, int index, String defaultValue) {
+    return args.length > index && !args[index].isBlank() ? args[index] : defaultValue;
+  }
+
+  /**
+   * 1つのパスの計測結果です。レイテンシはナノ秒で昇順に並んでいます。
+   */
+  private record Result(long[] sortedLatencies, long errors) {
+
+    long requests() {
+      return sortedLatencies.length;
+    }
+
+    double percentile(double percentile) {
+      if (sortedLatencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+      return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+}
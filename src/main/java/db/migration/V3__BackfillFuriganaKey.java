@@ -0,0 +1,77 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.text.Normalizer;
+import java.util.Locale;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * 既存の受講生にフリガナの検索キー（furigana_key）を設定するマイグレーションです。
+ * 正規化はSQLでは書けないため、Javaで実装しています。適用済みのマイグレーションの結果が変わらないように、
+ * 正規化はこのマイグレーションを追加した時点の KanaNormalizer#normalize を写して固定し、アプリケーションのコードには依存しません。
+ * 受講生ID順に {@value #BATCH_SIZE} 件ずつ読み込み、まとめて更新します。
+ */
+public class V3__BackfillFuriganaKey extends BaseJavaMigration {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final char KATAKANA_SMALL_A = 'ァ';
+  private static final char KATAKANA_SMALL_KE = 'ヶ';
+  private static final char KATAKANA_ITERATION_MARK = 'ヽ';
+  private static final char KATAKANA_VOICED_ITERATION_MARK = 'ヾ';
+  private static final int KATAKANA_TO_HIRAGANA = 'ァ' - 'ぁ';
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+    try (PreparedStatement select = connection.prepareStatement(
+        "SELECT id, furigana FROM students WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE);
+        PreparedStatement update = connection.prepareStatement(
+            "UPDATE students SET furigana_key = ? WHERE id = ?")) {
+      int lastId = 0;
+      while (true) {
+        int count = 0;
+        select.setInt(1, lastId);
+        try (ResultSet resultSet = select.executeQuery()) {
+          while (resultSet.next()) {
+            lastId = resultSet.getInt("id");
+            update.setString(1, normalize(resultSet.getString("furigana")));
+            update.setInt(2, lastId);
+            update.addBatch();
+            count++;
+          }
+        }
+        if (count == 0) {
+          return;
+        }
+        update.executeBatch();
+      }
+    }
+  }
+
+  /**
+   * フリガナを検索キーに正規化します（NFKCで正規化し、空白を取り除き、カタカナをひらがなに、英字を小文字にする）。
+   */
+  private static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+    StringBuilder builder = new StringBuilder(normalized.length());
+    for (int i = 0; i < normalized.length(); i++) {
+      char c = normalized.charAt(i);
+      if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+        continue;
+      }
+      if ((c >= KATAKANA_SMALL_A && c <= KATAKANA_SMALL_KE)
+          || c == KATAKANA_ITERATION_MARK || c == KATAKANA_VOICED_ITERATION_MARK) {
+        c = (char) (c - KATAKANA_TO_HIRAGANA);
+      }
+      builder.append(c);
+    }
+    return builder.toString().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,87 @@
+package raisetech.student.management.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR（application/cbor）のレスポンスの設定です。Accept に application/cbor を指定したリクエストには、
+ * 一覧検索（/studentList、/studentList/courses、/students）などの結果をJSONの代わりにCBORで返します。
+ * 繰り返し出力される値を小さくするため、列挙型（申込状況など）は名前ではなく順序（{@link Enum#ordinal()}）で、
+ * 日時はサーバーのタイムゾーンでのエポックミリ秒で出力します。JSONのレスポンスは変わりません。
+ */
+@Configuration
+public class CborConfig {
+
+  /**
+   * Spring MVCが既定で登録するCBORのコンバーターを置き換えます。Spring Bootは既定のコンバーターと同じ型のBeanを
+   * 既定と同じ位置（JSONのコンバーターより後ろ）に登録するため、Accept を指定しないリクエストには引き続きJSONで返します。
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+  }
+
+  /**
+   * CBORで読み書きするObjectMapperを作成します。
+   *
+   * @param builder Spring Bootの設定を反映したObjectMapperのビルダー
+   * @return CBOR用のObjectMapper
+   */
+  public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+    return builder.factory(new CBORFactory())
+        .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX,
+            SerializationFeature.WRITE_ENUM_KEYS_USING_INDEX)
+        .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+        .deserializerByType(LocalDateTime.class, new EpochMillisDeserializer())
+        .build();
+  }
+
+  /**
+   * 日時をサーバーのタイムゾーンでのエポックミリ秒として出力します。
+   */
+  static class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+
+    EpochMillisSerializer() {
+      super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+      generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+  }
+
+  /**
+   * エポックミリ秒を、サーバーのタイムゾーンの日時として読み込みます。
+   */
+  static class EpochMillisDeserializer extends StdDeserializer<LocalDateTime> {
+
+    EpochMillisDeserializer() {
+      super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      return LocalDateTime.ofInstant(Instant.ofEpochMilli(parser.getLongValue()),
+          ZoneId.systemDefault());
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package raisetech.student.management.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.domain.StudentFields;
+
+/**
+ * レスポンスのJSON・CBORの設定です。受講生に {@value StudentFields#FILTER_ID} のフィルターを設定し、
+ * fields を指定した検索では、コントローラーが指定したフィルターで出力する項目を絞り込みます。
+ * フィルターを指定しない場合は全ての項目を出力します。
+ */
+@Configuration
+public class JacksonConfig {
+
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer studentFieldsFilterCustomizer() {
+    return builder -> builder.mixIn(Student.class, StudentFieldsFilterMixIn.class)
+        .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+  }
+
+  @JsonFilter(StudentFields.FILTER_ID)
+  abstract static class StudentFieldsFilterMixIn {
+
+  }
+}
@@ -0,0 +1,95 @@
+package raisetech.student.management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * Mapperのステートメントごとに実行時間と件数を記録するMyBatisのプラグインです。
+ * 実行時間は {@value #TIMER_NAME}、検索で返した行数と更新した行数は {@value #ROWS_NAME} に、
+ * ステートメント（例: StudentRepository.searchStudent）と種別（query / update）、結果（success / error）のタグ付きで記録します。
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})})
+public class MapperMetricsInterceptor implements Interceptor {
+
+  /**
+   * ステートメントの実行時間のメトリクス名
+   */
+  public static final String TIMER_NAME = "student.mapper";
+
+  /**
+   * ステートメントが返した行数・更新した行数のメトリクス名
+   */
+  public static final String ROWS_NAME = "student.mapper.rows";
+
+  private final MeterRegistry registry;
+
+  public MapperMetricsInterceptor(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    String statement = statementName(mappedStatement.getId());
+    String type = invocation.getMethod().getName();
+
+    Timer.Sample sample = Timer.start(registry);
+    String outcome = "error";
+    try {
+      Object result = invocation.proceed();
+      outcome = "success";
+      DistributionSummary.builder(ROWS_NAME)
+          .description("Mapperのステートメントが返した行数・更新した行数")
+          .tag("statement", statement)
+          .tag("type", type)
+          .register(registry)
+          .record(countRows(result));
+      return result;
+    } finally {
+      sample.stop(Timer.builder(TIMER_NAME)
+          .description("Mapperのステートメントの実行時間")
+          .tag("statement", statement)
+          .tag("type", type)
+          .tag("outcome", outcome)
+          .register(registry));
+    }
+  }
+
+  /**
+   * パッケージ名を除いたステートメント名を返します（例: StudentRepository.searchStudent）。
+   */
+  static String statementName(String mappedStatementId) {
+    int method = mappedStatementId.lastIndexOf('.');
+    int type = method > 0 ? mappedStatementId.lastIndexOf('.', method - 1) : -1;
+    return mappedStatementId.substring(type + 1);
+  }
+
+  private static int countRows(Object result) {
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Integer count) {
+      return count;
+    }
+    return result == null ? 0 : 1;
+  }
+}
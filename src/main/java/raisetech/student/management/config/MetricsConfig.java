@@ -0,0 +1,29 @@
+package raisetech.student.management.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * メトリクス収集の設定です。
+ * エンドポイントごとの実行時間はSpring Boot Actuatorが http.server.requests として記録し、
+ * サービスとConverterの実行時間は {@link io.micrometer.core.annotation.Timed} を付けたクラスで、
+ * Mapperのステートメントごとの実行時間と件数は {@link MapperMetricsInterceptor} で記録します。
+ */
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  /**
+   * MyBatisのプラグインとして登録します。Interceptor型のBeanはMyBatisの自動設定で組み込まれます。
+   */
+  @Bean
+  public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry registry) {
+    return new MapperMetricsInterceptor(registry);
+  }
+}
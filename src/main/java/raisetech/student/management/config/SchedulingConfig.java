@@ -0,0 +1,13 @@
+package raisetech.student.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行する処理の設定です。{@link org.springframework.scheduling.annotation.Scheduled} を付けたメソッドを実行します。
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
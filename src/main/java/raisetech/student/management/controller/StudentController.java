@@ -1,27 +1,58 @@
 package raisetech.student.management.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.ibatis.javassist.NotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.domain.BulkRegistrationResult;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.CourseStatusTransitionResult;
+import raisetech.student.management.domain.StudentChangeFeedPage;
 import raisetech.student.management.domain.StudentSearchResponse;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.StudentDocumentCheckResult;
+import raisetech.student.management.domain.StudentDocumentRebuildResult;
+import raisetech.student.management.domain.StudentFields;
+import raisetech.student.management.service.StudentBulkRegistrationService;
+import raisetech.student.management.service.StudentChangeFeed;
+import raisetech.student.management.service.StudentDocumentStore;
 import raisetech.student.management.service.StudentService;
 
 /**
@@ -31,51 +62,130 @@ import raisetech.student.management.service.StudentService;
 @RestController
 public class StudentController {
 
+  /**
+   * 一覧検索で次のページのカーソルを返すレスポンスヘッダー名
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * 全件エクスポートのメディアタイプ（改行区切りJSON）
+   */
+  public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
   private StudentService service;
+  private StudentBulkRegistrationService bulkRegistrationService;
+  private StudentDocumentStore studentDocumentStore;
+  private StudentChangeFeed studentChangeFeed;
+  private ObjectMapper objectMapper;
+  private ObjectMapper cborObjectMapper;
 
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service,
+      StudentBulkRegistrationService bulkRegistrationService,
+      StudentDocumentStore studentDocumentStore, StudentChangeFeed studentChangeFeed,
+      ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
 
     this.service = service;
+    this.bulkRegistrationService = bulkRegistrationService;
+    this.studentDocumentStore = studentDocumentStore;
+    this.studentChangeFeed = studentChangeFeed;
+    this.objectMapper = objectMapper;
+    this.cborObjectMapper = cborHttpMessageConverter.getObjectMapper();
   }
 
   /**
-   * 受講生詳細の一覧検索です。
-   * リクエストパラメーターでdeletedの値を指定することにより、現在の受講生または過去の受講生に絞って検索できます。
+   * 受講生詳細の一覧検索です。受講生ID順に1ページ分を返します。
+   * 続きのページがある場合は、レスポンスヘッダー {@value #NEXT_CURSOR_HEADER} に次のページのカーソルを設定します。
    *
-   * @return 受講生詳細一覧
+   * @param deleted 削除済みフラグ。指定しない場合は削除済みかどうかで絞り込まない
+   * @param size 1ページの最大件数
+   * @param cursor 前のページで返されたカーソル。指定しない場合は先頭ページ
+   * @param fields 受講生の項目をカンマ区切りで指定した場合、指定した項目（と受講生ID）のみを返す
+   * @return 受講生詳細一覧（1ページ分）
    */
   @Operation(
       summary = "一覧検索",
-      description = "受講生の一覧を取得します。",
+      description = "受講生の一覧を受講生ID順にページ単位で取得します。続きがある場合は"
+          + NEXT_CURSOR_HEADER + "ヘッダーのカーソルをcursorに指定して次のページを取得します。"
+          + "fieldsに受講生の項目をカンマ区切りで指定すると、指定した項目のみを返します。",
       responses = {
           @ApiResponse(responseCode = "200", description = "検索成功",
               content = @Content(mediaType = "application/json",
                   schema = @Schema(implementation = StudentDetail.class))),
           @ApiResponse(responseCode = "204", description = "データなし"),
+          @ApiResponse(responseCode = "400", description = "無効なカーソル、または指定できない項目",
+              content = @Content),
           @ApiResponse(responseCode = "500", description = "サーバーエラー",
               content = @Content)}
   )
   @GetMapping("/studentList")
-  public ResponseEntity<List<StudentDetail>> getStudentList(
-      @RequestParam(value = "deleted", required = false) Boolean deleted) {
+  public ResponseEntity<MappingJacksonValue> getStudentList(
+      @RequestParam(value = "deleted", required = false) Boolean deleted,
+      @RequestParam(value = "size", defaultValue = "100") int size,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "fields", required = false) String fields) {
 
-    List<StudentDetail> students = service.searchStudentList(deleted);
+    StudentFields studentFields = StudentFields.parse(fields);
+    StudentDetailPage page = service.searchStudentPage(deleted, cursor, size, studentFields);
 
-    if (students.isEmpty()) {
+    if (page.getStudentDetailList().isEmpty()) {
       // データが存在しない場合、204 No Contentを返却
       return ResponseEntity.noContent().build();
-    } else {
-      // データがある場合、200 OKでリストを返却
-      return ResponseEntity.ok(students);
+    }
+    // データがある場合、200 OKでリストを返却し、続きがあれば次のカーソルをヘッダーに設定
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(filterStudentFields(page.getStudentDetailList(), studentFields));
+  }
+
+  /**
+   * 全ての受講生詳細を改行区切りのJSON（NDJSON）で出力します。
+   * 受講生詳細は1件ずつレスポンスに書き出すため、件数によらずメモリ使用量は一定です。
+   *
+   * @param response HTTPレスポンス
+   * @throws IOException レスポンスへの書き込みに失敗した場合
+   */
+  @Operation(
+      summary = "全件エクスポート",
+      description = "全ての受講生詳細を受講生ID順に、1行1件のJSON（application/x-ndjson）で出力します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "出力成功",
+              content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                  schema = @Schema(implementation = StudentDetail.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)}
+  )
+  @GetMapping(value = "/studentList/export", produces = NDJSON_MEDIA_TYPE)
+  public void exportStudentList(HttpServletResponse response) throws IOException {
+    response.setContentType(NDJSON_MEDIA_TYPE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    ObjectWriter writer = objectMapper.writer()
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    try (JsonGenerator generator = objectMapper.getFactory()
+        .createGenerator(response.getOutputStream())) {
+      // 1件ごとの区切りは改行のみとする
+      generator.setRootValueSeparator(null);
+      service.exportStudentDetails(studentDetail -> {
+        try {
+          writer.writeValue(generator, studentDetail);
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
     }
   }
 
   /**
    * 受講生詳細の検索です。IDに紐づく任意の受講生の情報を取得します。
+   * If-None-Match に指定されたETagが受講生詳細のバージョン番号から作るETagと一致する場合は、JSONに変換せずに304を返します。
    *
    * @param id　受講生ID
-   * @return 受講生
+   * @param webRequest リクエスト（条件付きGETの判定に使用）
+   * @return 受講生。変更されていない場合はnull（304 Not Modified）
    */
   @Operation(
       summary = "受講生詳細検索",
@@ -84,39 +194,107 @@ public class StudentController {
           @ApiResponse(responseCode = "200", description = "検索成功",
               content = @Content(mediaType = "application/json",
                   schema = @Schema(implementation = StudentDetail.class))),
+          @ApiResponse(responseCode = "304", description = "変更なし（If-None-Matchに一致）",
+              content = @Content),
           @ApiResponse(responseCode = "404", description = "受講生が見つかりませんでした",
               content = @Content),
           @ApiResponse(responseCode = "400", description = "無効なIDフォーマット",
               content = @Content)})
   @GetMapping("/Student/{id}")
-  public StudentDetail getStudent(@PathVariable Integer id) {
-    return service.searchStudent(id);
+  public StudentDetail getStudent(@PathVariable Integer id, WebRequest webRequest) {
+    StudentDetail studentDetail = service.searchStudent(id);
+    if (studentDetail != null && webRequest.checkNotModified(service.getStudentETag(studentDetail))) {
+      return null;
+    }
+    return studentDetail;
   }
 
   /**
    * コース情報および申込状況の全件検索
+   * If-None-Match に指定されたETagが変更回数から作るETagと一致する場合は、データベースを検索せずに304を返します。
+   * コース詳細は一覧を作らずに1件ずつレスポンスに書き出すため、件数によらずメモリ使用量は一定です。
+   * Accept に application/cbor を指定した場合はCBORで、それ以外はJSONで出力します。
    *
-   * @return 全てのコースと申込状況
+   * @param webRequest リクエスト（条件付きGETの判定に使用）
+   * @param accept     Acceptヘッダー
+   * @param response   HTTPレスポンス
+   * @throws IOException レスポンスへの書き込みに失敗した場合
    */
   @Operation(
       summary = "コースと申込状況の全件検索",
       description = "全ての受講生のコース情報および申込状況を取得します。",
       responses = {
           @ApiResponse(responseCode = "200", description = "検索成功",
-              content = @Content(mediaType = "application/json",
-                  schema = @Schema(implementation = StudentSearchResponse.class))),
+              content = {
+                  @Content(mediaType = "application/json",
+                      schema = @Schema(implementation = CourseDetail.class)),
+                  @Content(mediaType = "application/cbor",
+                      schema = @Schema(implementation = CourseDetail.class))}),
           @ApiResponse(responseCode = "204", description = "データなし"),
+          @ApiResponse(responseCode = "304", description = "変更なし（If-None-Matchに一致）",
+              content = @Content),
           @ApiResponse(responseCode = "500", description = "サーバーエラー",
               content = @Content)}
   )
   @GetMapping("/studentList/courses")
-  public ResponseEntity<List<CourseDetail>> getAllCourses() {
-    List<CourseDetail> courses = service.getAllCourses();
-    if (courses.isEmpty()) {
-      return ResponseEntity.noContent().build();
-    } else {
-      return ResponseEntity.ok(courses);
+  public void getAllCourses(WebRequest webRequest,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      HttpServletResponse response) throws IOException {
+    // 検索より前にETagを決めておき、検索中の変更は次のリクエストで新しいETagとして返す
+    if (webRequest.checkNotModified(service.getCourseListETag())) {
+      return;
+    }
+    StreamingArrayWriter arrayWriter = MediaType.APPLICATION_CBOR.equals(negotiateListMediaType(accept))
+        ? new StreamingArrayWriter(cborObjectMapper, MediaType.APPLICATION_CBOR, response)
+        : new StreamingArrayWriter(objectMapper, MediaType.APPLICATION_JSON, response);
+    service.exportCourseDetails(arrayWriter);
+    if (arrayWriter.isEmpty()) {
+      // データが存在しない場合、204 No Contentを返却
+      response.setStatus(HttpStatus.NO_CONTENT.value());
+      return;
+    }
+    // 途中で失敗した場合は配列を閉じず、クライアントが不完全なレスポンスだと判断できるようにする
+    arrayWriter.finish();
+  }
+
+  /**
+   * 一覧を書き出す形式を Accept ヘッダーから決めます。Accept に並んだ順に、JSONとCBORのうち最初に受け付けられる形式を選びます。
+   *
+   * @param accept Acceptヘッダー
+   * @return application/json または application/cbor
+   */
+  static MediaType negotiateListMediaType(String accept) {
+    if (accept != null) {
+      for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+          return MediaType.APPLICATION_JSON;
+        }
+        if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+          return MediaType.APPLICATION_CBOR;
+        }
+      }
     }
+    return MediaType.APPLICATION_JSON;
+  }
+
+  /**
+   * コース名ごとの申込状況の件数を取得します。
+   *
+   * @return コース名ごとの申込状況の件数
+   */
+  @Operation(
+      summary = "コース名ごとの申込状況の件数",
+      description = "コース名ごとに、仮申込・本申込・受講中・受講終了の件数を取得します。件数はメモリ上で集計した値を返します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "取得成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = CourseStatusSummary.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)}
+  )
+  @GetMapping("/studentList/courses/statuses/summary")
+  public List<CourseStatusSummary> getCourseStatusSummary() {
+    return service.getCourseStatusSummary();
   }
 
   /**
@@ -128,20 +306,49 @@ public class StudentController {
    * @param gender 性別
    * @param courseName コース名
    * @param status コースステータス
+   * @param fields 受講生の項目をカンマ区切りで指定した場合、指定した項目（と受講生ID）のみを返す
    * @return 統合された受講生の詳細情報
    */
-  @Operation(summary = "条件検索による受講生の詳細取得", description = "条件に合致する受講生とそのコース情報を統合して取得します。")
+  @Operation(summary = "条件検索による受講生の詳細取得", description = "条件に合致する受講生とそのコース情報を統合して取得します。"
+      + "fieldsに受講生の項目をカンマ区切りで指定すると、受講生は指定した項目のみを返します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "検索成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchResponse.class))),
+          @ApiResponse(responseCode = "400", description = "指定できない項目",
+              content = @Content)}
+  )
   @GetMapping("/students")
-  public List<StudentSearchResponse> searchStudents(
+  public MappingJacksonValue searchStudents(
       @RequestParam(required = false) String name,
       @RequestParam(required = false) String furigana,
       @RequestParam(required = false) String city,
       @RequestParam(required = false) Integer age,
       @RequestParam(required = false) String gender,
       @RequestParam(required = false) String courseName,
-      @RequestParam(required = false) CourseStatus.Status status
+      @RequestParam(required = false) CourseStatus.Status status,
+      @RequestParam(required = false) String fields
   ) {
-    return service.searchIntegratedDetails(name, furigana, city, age, gender, courseName, status);
+    StudentFields studentFields = StudentFields.parse(fields);
+    return filterStudentFields(
+        service.searchIntegratedDetails(name, furigana, city, age, gender, courseName, status,
+            studentFields), studentFields);
+  }
+
+  /**
+   * レスポンスに出力する受講生の項目を、指定された項目に絞り込みます。
+   *
+   * @param body          レスポンスの本文
+   * @param studentFields 出力する受講生の項目。nullの場合は全ての項目を出力する
+   * @return フィルターを設定したレスポンスの本文
+   */
+  private static MappingJacksonValue filterStudentFields(Object body, StudentFields studentFields) {
+    MappingJacksonValue value = new MappingJacksonValue(body);
+    if (studentFields != null) {
+      value.setFilters(new SimpleFilterProvider().addFilter(StudentFields.FILTER_ID,
+          SimpleBeanPropertyFilter.filterOutAllExcept(studentFields.getNames())));
+    }
+    return value;
   }
 
   /**
@@ -168,6 +375,31 @@ public class StudentController {
     return ResponseEntity.ok(responseStudentDetail);
   }
 
+  /**
+   * 受講生詳細の一括登録を行います。入力チェックや登録に失敗した要素があっても、他の要素は登録します。
+   *
+   * @param studentDetails 受講生詳細のリスト
+   * @param chunkSize 1回のINSERTで登録する受講生の件数（省略時は設定値）
+   * @return 登録件数、採番された受講生ID、要素ごとのエラー
+   */
+  @Operation(
+      summary = "受講生一括登録",
+      description = "複数の受講生をまとめて登録します。失敗した要素はリクエスト内の位置とエラー内容を返します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "登録処理完了（一部失敗を含む）",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = BulkRegistrationResult.class))),
+          @ApiResponse(responseCode = "400", description = "入力エラー",
+              content = @Content),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)})
+  @PostMapping("/registerStudents")
+  public ResponseEntity<BulkRegistrationResult> registerStudents(
+      @RequestBody List<StudentDetail> studentDetails,
+      @RequestParam(value = "chunkSize", required = false) Integer chunkSize) {
+    return ResponseEntity.ok(bulkRegistrationService.registerStudents(studentDetails, chunkSize));
+  }
+
   /**
    * 受講生詳細の更新を行います。キャンセルフラグの更新もここで行います（論理削除）
    * @param studentDetail 受講生詳細
@@ -183,6 +415,8 @@ public class StudentController {
               content = @Content),
           @ApiResponse(responseCode = "404", description = "受講生が見つかりませんでした",
               content = @Content),
+          @ApiResponse(responseCode = "409", description = "他の更新と競合（最新の情報を取得してから再度更新）",
+              content = @Content),
           @ApiResponse(responseCode = "500", description = "サーバーエラー",
               content = @Content)})
   @PutMapping("/updateStudent")
@@ -201,17 +435,177 @@ public class StudentController {
               content = @Content),
           @ApiResponse(responseCode = "404", description = "受講生コースが見つかりませんでした",
               content = @Content),
+          @ApiResponse(responseCode = "409", description = "他の更新と競合（最新の情報を取得してから再度更新）",
+              content = @Content),
           @ApiResponse(responseCode = "500", description = "サーバーエラー",
               content = @Content)})
   @PutMapping("/studentList/courses/statuses/update")
-  public ResponseEntity<String> updateStudentCourse(@RequestBody @Valid CourseStatus courseStatus) {
-    try {
-      service.updateCourseStatus(courseStatus);
-      return ResponseEntity.ok("申込状況が更新されました。");
-    } catch (Exception e) {
-      e.printStackTrace();
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("申込状況の更新に失敗しました: " + e.getMessage());
+  public ResponseEntity<String> updateStudentCourse(@RequestBody @Valid CourseStatus courseStatus)
+      throws Exception {
+    // 競合（409）やその他の例外は、他の更新処理と同じく Handler で応答に変換する
+    service.updateCourseStatus(courseStatus);
+    return ResponseEntity.ok("申込状況が更新されました。");
+  }
+
+  /**
+   * 条件に合うコースの申込状況をまとめて変更します。
+   *
+   * @param transition 一括変更の条件と変更後の申込状況
+   * @return 変更した件数と、コース名と変更前の申込状況ごとの件数
+   */
+  @Operation(
+      summary = "受講生コース申込状況一括変更",
+      description = "受講生コースIDのリスト、またはコース名・変更前の申込状況・コース開始日の範囲に合うコースの申込状況をまとめて変更します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "変更成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = CourseStatusTransitionResult.class))),
+          @ApiResponse(responseCode = "400", description = "条件が指定されていない",
+              content = @Content),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)})
+  @PutMapping("/studentList/courses/statuses/bulkUpdate")
+  public ResponseEntity<CourseStatusTransitionResult> transitionCourseStatuses(
+      @RequestBody @Valid CourseStatusTransition transition) {
+    return ResponseEntity.ok(service.transitionCourseStatuses(transition));
+  }
+
+  /**
+   * 受講生文書の検索です。受講生詳細と受講生コース詳細を統合した内容を、書き込み時に作成した文書から受講生IDによる1回の検索で返します。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細と受講生コース詳細を統合した内容（JSON）
+   */
+  @Operation(
+      summary = "受講生文書検索",
+      description = "指定したIDの受講生の詳細とコース・申込状況を、書き込み時に作成した文書から取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "検索成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentSearchResponse.class))),
+          @ApiResponse(responseCode = "404", description = "受講生が見つかりませんでした",
+              content = @Content),
+          @ApiResponse(responseCode = "400", description = "無効なIDフォーマット",
+              content = @Content)})
+  @GetMapping("/students/{id}")
+  public ResponseEntity<String> getStudentDocument(@PathVariable Integer id) {
+    String document = studentDocumentStore.find(id);
+    if (document == null) {
+      return ResponseEntity.notFound().build();
+    }
+    // 保存済みのJSONをそのまま返す
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(document);
+  }
+
+  /**
+   * 全ての受講生文書を作り直します。
+   *
+   * @return 作り直した件数と削除した件数
+   */
+  @Operation(
+      summary = "受講生文書の全件作り直し",
+      description = "全ての受講生の文書をテーブルの内容から作り直し、受講生が存在しない文書を削除します。"
+          + "文書の形式を変えた後や、整合性の確認で不整合が見つかった場合に実行します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "作り直し成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentDocumentRebuildResult.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)})
+  @PostMapping("/studentDocuments/rebuild")
+  public StudentDocumentRebuildResult rebuildStudentDocuments() {
+    return studentDocumentStore.rebuildAll();
+  }
+
+  /**
+   * 受講生文書がテーブルの内容と一致しているかを確認します。
+   *
+   * @return 確認結果
+   */
+  @Operation(
+      summary = "受講生文書の整合性の確認",
+      description = "全ての受講生の文書を、テーブルから組み立てた内容と比較します。文書は変更しません。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "確認成功",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentDocumentCheckResult.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)})
+  @GetMapping("/studentDocuments/check")
+  public StudentDocumentCheckResult checkStudentDocuments() {
+    return studentDocumentStore.check();
+  }
+
+  /**
+   * 受講生・受講生コース・申込状況の変更フィードです。指定した配信番号より後の変更を配信番号の順に返します。
+   * 新しい変更がない場合は、配信されるか待機時間が過ぎるまで応答を保留します。
+   *
+   * @param after 前回受け取った nextOffset。最初から取得する場合は0
+   * @param limit 最大件数
+   * @param waitSeconds 新しい変更がない場合に待つ秒数。0の場合は待たずに返す
+   * @return 変更と、次の取得で after に指定する配信番号
+   */
+  @Operation(
+      summary = "変更フィード",
+      description = "受講生の登録・更新と申込状況の変更を、配信番号の順に取得します。レスポンスのnextOffsetを次の取得のafterに指定すると、"
+          + "前回の続きの変更だけを取得できます。新しい変更がない場合は、配信されるかwaitの秒数が過ぎるまで応答を待ちます。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "取得成功（待機時間内に変更がなかった場合は空）",
+              content = @Content(mediaType = "application/json",
+                  schema = @Schema(implementation = StudentChangeFeedPage.class))),
+          @ApiResponse(responseCode = "500", description = "サーバーエラー",
+              content = @Content)})
+  @GetMapping("/studentChanges")
+  public DeferredResult<StudentChangeFeedPage> getStudentChanges(
+      @RequestParam(value = "after", defaultValue = "0") long after,
+      @RequestParam(value = "limit", defaultValue = "100") int limit,
+      @RequestParam(value = "wait", defaultValue = "30") int waitSeconds) {
+    return studentChangeFeed.poll(after, limit, Duration.ofSeconds(waitSeconds));
+  }
+
+  /**
+   * 一覧の要素を1件ずつレスポンスに書き出す処理です。最初の要素を受け取った時点で配列の書き出しを始めるため、
+   * 要素が1件もない場合はレスポンスに何も書き出しません。
+   */
+  private static final class StreamingArrayWriter implements Consumer<Object> {
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final MediaType mediaType;
+    private final HttpServletResponse response;
+    private JsonGenerator generator;
+
+    StreamingArrayWriter(ObjectMapper mapper, MediaType mediaType, HttpServletResponse response) {
+      this.mapper = mapper;
+      this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+      this.mediaType = mediaType;
+      this.response = response;
+    }
+
+    @Override
+    public void accept(Object value) {
+      try {
+        if (generator == null) {
+          response.setContentType(mediaType.toString());
+          generator = mapper.getFactory().createGenerator(response.getOutputStream());
+          generator.writeStartArray();
+        }
+        writer.writeValue(generator, value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    boolean isEmpty() {
+      return generator == null;
+    }
+
+    /**
+     * 配列を閉じて、書き出していない内容をレスポンスに送ります。
+     */
+    void finish() throws IOException {
+      generator.writeEndArray();
+      generator.close();
     }
   }
 
@@ -1,32 +1,73 @@
 package raisetech.student.management.controller.converter;
 
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.domain.CourseDetail;
 
+@Timed("student.converter")
 @Component
 public class CourseConverter {
 
   /**
    * List<StudentCourse> と List<CourseStatus> を List<CourseDetail> に変換します。
+   * コース申込状況は受講生コースIDの索引にしてから突き合わせます。
    *
    * @param studentCourses 学生のコースリスト
    * @param courseStatuses コースステータスリスト
    * @return CourseDetail のリスト
    */
   public List<CourseDetail> convertToCourseDetails(List<StudentCourse> studentCourses, List<CourseStatus> courseStatuses) {
-    return studentCourses.stream()
-        .map(studentCourse -> {
-          CourseStatus courseStatus = courseStatuses.stream()
-              .filter(status -> status.getCourseId() == studentCourse.getId())
-              .findFirst()
-              .orElse(null);
-          return convertToCourseDetail(studentCourse, courseStatus);
-        })
-        .collect(Collectors.toList());
+    return convertToCourseDetails(studentCourses, CourseStatusIndex.of(courseStatuses));
+  }
+
+  /**
+   * List<StudentCourse> と作成済みのコース申込状況の索引を List<CourseDetail> に変換します。
+   * 複数の受講生のコースを変換する場合は、索引を一度だけ作成してこのメソッドに渡してください。
+   *
+   * @param studentCourses 学生のコースリスト
+   * @param courseStatusIndex コース申込状況の索引
+   * @return CourseDetail のリスト
+   */
+  public List<CourseDetail> convertToCourseDetails(List<StudentCourse> studentCourses,
+      CourseStatusIndex courseStatusIndex) {
+    List<CourseDetail> courseDetails = new ArrayList<>(studentCourses.size());
+    studentCourses.forEach(studentCourse -> courseDetails.add(convertToCourseDetail(studentCourse,
+        courseStatusIndex.findByCourseId(studentCourse.getId()))));
+    return courseDetails;
+  }
+
+  /**
+   * 受講生コースID順に並んだ受講生コース情報とコース申込状況を突き合わせ、コース詳細を1件ずつ組み立てて渡します。
+   * どちらも先頭から1回ずつ読み進めるだけなので、全件をメモリに保持せずに大量のコースを変換できます。
+   * 同じ受講生コースIDの申込状況が複数ある場合は、先に現れたものを採用します。
+   *
+   * @param studentCourses 受講生コースID順の受講生コース情報
+   * @param courseStatuses 受講生コースID順のコース申込状況
+   * @param consumer       組み立てたコース詳細を受け取る処理
+   */
+  public void convertSortedCourseDetails(Iterable<StudentCourse> studentCourses,
+      Iterable<CourseStatus> courseStatuses, Consumer<CourseDetail> consumer) {
+    Iterator<CourseStatus> courseStatusIterator = courseStatuses.iterator();
+    CourseStatus courseStatus = courseStatusIterator.hasNext() ? courseStatusIterator.next() : null;
+
+    for (StudentCourse studentCourse : studentCourses) {
+      // 受講生コース情報が存在しない申込状況と、同じ受講生コースIDの2件目以降の申込状況は読み飛ばす
+      while (courseStatus != null && courseStatus.getCourseId() < studentCourse.getId()) {
+        courseStatus = courseStatusIterator.hasNext() ? courseStatusIterator.next() : null;
+      }
+      CourseStatus matched = null;
+      if (courseStatus != null && courseStatus.getCourseId() == studentCourse.getId()) {
+        matched = courseStatus;
+        courseStatus = courseStatusIterator.hasNext() ? courseStatusIterator.next() : null;
+      }
+      consumer.accept(convertToCourseDetail(studentCourse, matched));
+    }
   }
 
   /**
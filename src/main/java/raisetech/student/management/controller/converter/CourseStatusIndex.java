@@ -0,0 +1,50 @@
+package raisetech.student.management.controller.converter;
+
+import java.util.List;
+import raisetech.student.management.data.CourseStatus;
+
+/**
+ * 受講生コースIDからコース申込状況を引くための索引です。
+ * 一度作成すれば、複数の受講生のコース詳細の変換に使い回すことができます。
+ * 同じ受講生コースIDの申込状況が複数ある場合は、リストで先に現れたものを採用します。
+ */
+public final class CourseStatusIndex {
+
+  private final IntKeyMap<CourseStatus> courseStatusesByCourseId;
+
+  private CourseStatusIndex(IntKeyMap<CourseStatus> courseStatusesByCourseId) {
+    this.courseStatusesByCourseId = courseStatusesByCourseId;
+  }
+
+  /**
+   * コース申込状況のリストから索引を作成します。
+   *
+   * @param courseStatuses コース申込状況のリスト
+   * @return コース申込状況の索引
+   */
+  public static CourseStatusIndex of(List<CourseStatus> courseStatuses) {
+    IntKeyMap<CourseStatus> courseStatusesByCourseId = new IntKeyMap<>(courseStatuses.size());
+    courseStatuses.forEach(courseStatus ->
+        courseStatusesByCourseId.putIfAbsent(courseStatus.getCourseId(), courseStatus));
+    return new CourseStatusIndex(courseStatusesByCourseId);
+  }
+
+  /**
+   * 受講生コースIDに紐づくコース申込状況を取得します。
+   *
+   * @param courseId 受講生コースID
+   * @return コース申込状況。存在しない場合はnull
+   */
+  public CourseStatus findByCourseId(int courseId) {
+    return courseStatusesByCourseId.get(courseId);
+  }
+
+  /**
+   * 索引に登録されている受講生コースIDの件数を返します。
+   *
+   * @return 件数
+   */
+  public int size() {
+    return courseStatusesByCourseId.size();
+  }
+}
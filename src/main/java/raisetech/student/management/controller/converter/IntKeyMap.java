@@ -0,0 +1,150 @@
+package raisetech.student.management.controller.converter;
+
+import java.util.function.IntFunction;
+
+/**
+ * int型のキーをボクシングせずに保持するハッシュマップです。
+ * 受講生IDやコースIDのような連番のIDで大量の行を突き合わせる際に、Integerの生成を避けるために利用します。
+ * オープンアドレス法（線形探索）で実装しており、値としてnullは保持できません。スレッドセーフではありません。
+ *
+ * @param <V> 値の型
+ */
+public final class IntKeyMap<V> {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  public IntKeyMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * 想定要素数を指定してマップを生成します。
+   *
+   * @param expectedSize 想定要素数
+   */
+  public IntKeyMap(int expectedSize) {
+    int capacity = tableSizeFor(Math.max(expectedSize, MIN_CAPACITY) * 2);
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * キーに紐づく値を取得します。
+   *
+   * @param key キー
+   * @return 値。存在しない場合はnull
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    for (int i = indexFor(key); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return (V) values[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * キーに値を登録します。既に紐づいている値は置き換えます。
+   *
+   * @param key キー
+   * @param value 値
+   * @return 置き換える前の値。新たに登録した場合はnull
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("IntKeyMap does not accept null values");
+    }
+    for (int i = indexFor(key); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        V previous = (V) values[i];
+        values[i] = value;
+        return previous;
+      }
+    }
+    computeIfAbsent(key, k -> value);
+    return null;
+  }
+
+  /**
+   * キーに値が紐づいていない場合のみ値を登録します。
+   *
+   * @param key キー
+   * @param value 値
+   * @return 既に紐づいていた値。新たに登録した場合はnull
+   */
+  public V putIfAbsent(int key, V value) {
+    V current = computeIfAbsent(key, k -> value);
+    return current == value ? null : current;
+  }
+
+  /**
+   * キーに紐づく値を取得し、存在しない場合は関数で生成して登録します。
+   *
+   * @param key キー
+   * @param mappingFunction 値を生成する関数
+   * @return キーに紐づく値
+   */
+  @SuppressWarnings("unchecked")
+  public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+    int i = indexFor(key);
+    for (; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return (V) values[i];
+      }
+    }
+    V value = mappingFunction.apply(key);
+    if (value == null) {
+      throw new IllegalArgumentException("IntKeyMap does not accept null values");
+    }
+    keys[i] = key;
+    values[i] = value;
+    if (++size * 2 > values.length) {
+      resize();
+    }
+    return value;
+  }
+
+  /**
+   * 登録されている要素数を返します。
+   *
+   * @return 要素数
+   */
+  public int size() {
+    return size;
+  }
+
+  private void resize() {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new Object[oldValues.length * 2];
+    mask = keys.length - 1;
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] != null) {
+        int i = indexFor(oldKeys[j]);
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+
+  private int indexFor(int key) {
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return Integer.highestOneBit(capacity - 1) << 1;
+  }
+}
@@ -1,8 +1,10 @@
 package raisetech.student.management.controller.converter;
 
+import io.micrometer.core.annotation.Timed;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 import raisetech.student.management.data.Student;
 import raisetech.student.management.data.StudentCourse;
@@ -11,12 +13,14 @@ import raisetech.student.management.domain.StudentDetail;
 /**
  * 受講生詳細を受講生や受講生コース情報、もしくはその逆の変換を行うコンバーターです。
  */
+@Timed("student.converter")
 @Component
 public class StudentConverter {
 
   /**
    * 受講生に紐づく受講生コース情報をマッピングする。
-   * 受講生コース情報は受講生に対して複数存在するのでループを回して受講生詳細情報を組み立てる。
+   * 受講生コース情報は受講生に対して複数存在するので、先に受講生IDごとにまとめてから受講生詳細情報を組み立てる。
+   * 受講生コース情報の走査は1回のみで、受講生ごとのコース情報の順序は元のリストの順序を保持する。
    *
    * @param studentList　受講生一覧
    * @param studentCourseList　受講生コース情報のリスト
@@ -24,21 +28,50 @@ public class StudentConverter {
    */
   public List<StudentDetail> convertStudentDetails(List<Student> studentList,
       List<StudentCourse> studentCourseList) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
-    studentList.forEach(student -> {
-      StudentDetail studentDetail = new StudentDetail();
-      studentDetail.setStudent(student);
-
-      List<StudentCourse> convertStudentCourseList = studentCourseList.stream()
-          .filter(studentCourse -> student.getId() == studentCourse.getStudentId())
-          .collect(Collectors.toList());
+    IntKeyMap<List<StudentCourse>> studentCoursesByStudentId = new IntKeyMap<>(studentList.size());
+    studentCourseList.forEach(studentCourse -> studentCoursesByStudentId
+        .computeIfAbsent(studentCourse.getStudentId(), studentId -> new ArrayList<>())
+        .add(studentCourse));
 
-      studentDetail.setStudentCourseList(convertStudentCourseList);
-      studentDetails.add(studentDetail);
+    List<StudentDetail> studentDetails = new ArrayList<>(studentList.size());
+    studentList.forEach(student -> {
+      List<StudentCourse> convertStudentCourseList = studentCoursesByStudentId.get(student.getId());
+      if (convertStudentCourseList == null) {
+        convertStudentCourseList = new ArrayList<>();
+      }
+      studentDetails.add(convertToStudentDetail(student, convertStudentCourseList));
     });
     return studentDetails;
   }
 
+  /**
+   * 受講生ID順に並んだ受講生と受講生コース情報を突き合わせ、受講生詳細を1件ずつ組み立てて渡す。
+   * どちらも先頭から1回ずつ読み進めるだけなので、全件をメモリに保持せずに大量の受講生を変換できる。
+   * 受講生コース情報は受講生ID順（同じ受講生の中では任意の順）に並んでいる必要がある。
+   *
+   * @param students 受講生ID順の受講生
+   * @param studentCourses 受講生ID順の受講生コース情報
+   * @param consumer 組み立てた受講生詳細を受け取る処理
+   */
+  public void convertSortedStudentDetails(Iterable<Student> students,
+      Iterable<StudentCourse> studentCourses, Consumer<StudentDetail> consumer) {
+    Iterator<StudentCourse> studentCourseIterator = studentCourses.iterator();
+    StudentCourse studentCourse = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
+
+    for (Student student : students) {
+      // 受講生が存在しない受講生コース情報は読み飛ばす
+      while (studentCourse != null && studentCourse.getStudentId() < student.getId()) {
+        studentCourse = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
+      }
+      List<StudentCourse> convertStudentCourseList = new ArrayList<>();
+      while (studentCourse != null && studentCourse.getStudentId() == student.getId()) {
+        convertStudentCourseList.add(studentCourse);
+        studentCourse = studentCourseIterator.hasNext() ? studentCourseIterator.next() : null;
+      }
+      consumer.accept(convertToStudentDetail(student, convertStudentCourseList));
+    }
+  }
+
   /**
    * 単一の受講生とそのコース情報を受講生詳細に変換する。
    *
@@ -1,5 +1,6 @@
 package raisetech.student.management.data;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,14 +16,22 @@ public class CourseStatus {
 
   private Status status;
 
+  private int version;
+
   public enum Status {
     仮申込, 本申込, 受講中, 受講終了
   }
 
 
   public CourseStatus(int id, int courseId, Status status) {
+    this(id, courseId, status, 0);
+  }
+
+  @JsonCreator
+  public CourseStatus(int id, int courseId, Status status, int version) {
     this.id = id;
     this.courseId = courseId;
     this.status = status;
+    this.version = version;
   }
 }
@@ -0,0 +1,25 @@
+package raisetech.student.management.data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+import raisetech.student.management.data.CourseStatus.Status;
+
+@Schema(description = "コース名と申込状況ごとの件数")
+@Getter
+@Setter
+public class CourseStatusCount {
+
+  private String courseName;
+
+  private Status status;
+
+  private long count;
+
+
+  public CourseStatusCount(String courseName, Status status, long count) {
+    this.courseName = courseName;
+    this.status = status;
+    this.count = count;
+  }
+}
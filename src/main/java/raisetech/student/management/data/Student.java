@@ -1,11 +1,13 @@
 package raisetech.student.management.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
+import raisetech.student.management.util.KanaNormalizer;
 
 @Schema(description = "受講生")
 @Getter
@@ -40,4 +42,16 @@ public class Student {
 
   private boolean isDeleted;
 
+  @Schema(description = "バージョン番号。更新時は取得した時点の値を指定し、他の更新と競合した場合は更新しません。")
+  private int version;
+
+  /**
+   * フリガナの検索キーです。フリガナを {@link KanaNormalizer} で正規化した値で、登録・更新時に furigana_key 列に保存します。
+   *
+   * @return フリガナの検索キー
+   */
+  @JsonIgnore
+  public String getFuriganaKey() {
+    return KanaNormalizer.normalize(furigana);
+  }
 }
@@ -0,0 +1,54 @@
+package raisetech.student.management.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生・受講生コース・申込状況の変更です。変更と同じトランザクションで送信待ちに追加し、配信処理が配信番号を付けて変更フィードに移します。
+ */
+@Schema(description = "受講生・受講生コース・申込状況の変更")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StudentChangeEvent {
+
+  /**
+   * 送信待ちのID（配信後は使わない）
+   */
+  @JsonIgnore
+  private long id;
+
+  @Schema(description = "配信番号。次の取得では、受け取った最後の配信番号を after に指定する")
+  private Long feedOffset;
+
+  @Schema(description = "変更の種類")
+  private Type eventType;
+
+  @Schema(description = "変更した受講生ID")
+  private int studentId;
+
+  @Schema(description = "変更した受講生コースID。受講生の登録・更新の場合はnull")
+  private Integer courseId;
+
+  @Schema(description = "変更日時")
+  private LocalDateTime createdAt;
+
+  @Schema(description = "配信日時")
+  private LocalDateTime publishedAt;
+
+  public enum Type {
+    受講生登録, 受講生更新, 申込状況変更
+  }
+
+  public StudentChangeEvent(Type eventType, int studentId, Integer courseId,
+      LocalDateTime createdAt) {
+    this.eventType = eventType;
+    this.studentId = studentId;
+    this.courseId = courseId;
+    this.createdAt = createdAt;
+  }
+}
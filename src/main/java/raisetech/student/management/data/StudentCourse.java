@@ -1,5 +1,6 @@
 package raisetech.student.management.data;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -21,13 +22,21 @@ public class StudentCourse {
   private LocalDateTime startDate;
   private LocalDateTime endDate;
 
+  private int version;
 
   public StudentCourse(int id, int studentId, String courseName, LocalDateTime startDate, LocalDateTime endDate) {
+    this(id, studentId, courseName, startDate, endDate, 0);
+  }
+
+  @JsonCreator
+  public StudentCourse(int id, int studentId, String courseName, LocalDateTime startDate, LocalDateTime endDate,
+      int version) {
     this.id = id;
     this.studentId = studentId;
     this.courseName = courseName;
     this.startDate = startDate;
     this.endDate = endDate;
+    this.version = version;
   }
 
   public void setCourseStatus(CourseStatus courseStatus) {
@@ -0,0 +1,23 @@
+package raisetech.student.management.data;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生ごとの読み出し用の文書です。受講生詳細と受講生コース詳細を統合した内容をJSONで保持します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDocument {
+
+  private int studentId;
+
+  private String document;
+
+  private LocalDateTime updatedAt;
+}
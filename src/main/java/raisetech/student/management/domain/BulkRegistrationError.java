@@ -0,0 +1,21 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生一括登録で登録できなかった要素のエラー")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationError {
+
+  @Schema(description = "リクエスト内の位置（0始まり）")
+  private int index;
+
+  @Schema(description = "エラー内容")
+  private String message;
+}
@@ -0,0 +1,28 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生一括登録の結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResult {
+
+  @Schema(description = "登録できた件数")
+  private int registeredCount;
+
+  @Schema(description = "登録できなかった件数")
+  private int failedCount;
+
+  @Schema(description = "リクエストの順に並べた採番済みの受講生ID。登録できなかった要素はnull")
+  private List<Integer> studentIds;
+
+  @Schema(description = "登録できなかった要素のエラー")
+  private List<BulkRegistrationError> errors;
+}
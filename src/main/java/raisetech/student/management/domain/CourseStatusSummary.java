@@ -0,0 +1,23 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.data.CourseStatus;
+
+@Schema(description = "コース名ごとの申込状況の件数")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatusSummary {
+
+  @Schema(description = "コース名")
+  private String courseName;
+
+  @Schema(description = "申込状況ごとの件数。件数が0の申込状況も含みます。")
+  private Map<CourseStatus.Status, Long> statusCounts;
+}
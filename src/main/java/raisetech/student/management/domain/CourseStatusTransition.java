@@ -0,0 +1,51 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.data.CourseStatus;
+
+@Schema(description = "申込状況の一括変更の条件と変更後の申込状況。指定した条件を全て満たすコースの申込状況を変更します。")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatusTransition {
+
+  @Schema(description = "変更後の申込状況")
+  @NotNull
+  private CourseStatus.Status toStatus;
+
+  @Schema(description = "受講生コースIDのリスト")
+  private List<Integer> courseIds;
+
+  @Schema(description = "コース名")
+  private String courseName;
+
+  @Schema(description = "変更前の申込状況")
+  private CourseStatus.Status currentStatus;
+
+  @Schema(description = "コース開始日の範囲の開始（この日時を含む）")
+  private LocalDateTime startDateFrom;
+
+  @Schema(description = "コース開始日の範囲の終了（この日時を含まない）")
+  private LocalDateTime startDateTo;
+
+  @Schema(description = "コース終了日がこの日時より前のコースだけを変更する")
+  private LocalDateTime endDateBefore;
+
+  /**
+   * 変更するコースを絞り込む条件が1つ以上指定されているかを返します。
+   *
+   * @return 条件が指定されている場合はtrue
+   */
+  public boolean hasCondition() {
+    return courseIds != null || courseName != null || currentStatus != null
+        || startDateFrom != null || startDateTo != null || endDateBefore != null;
+  }
+}
@@ -0,0 +1,23 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.data.CourseStatusCount;
+
+@Schema(description = "申込状況の一括変更の結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatusTransitionResult {
+
+  @Schema(description = "申込状況を変更した件数")
+  private int updatedCount;
+
+  @Schema(description = "変更したコースの、コース名と変更前の申込状況ごとの件数")
+  private List<CourseStatusCount> previousStatusCounts;
+}
@@ -0,0 +1,23 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.data.StudentChangeEvent;
+
+@Schema(description = "変更フィードの取得結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChangeFeedPage {
+
+  @Schema(description = "配信番号の順の変更。待機時間内に変更がなかった場合は空")
+  private List<StudentChangeEvent> events;
+
+  @Schema(description = "次の取得で after に指定する配信番号")
+  private long nextOffset;
+}
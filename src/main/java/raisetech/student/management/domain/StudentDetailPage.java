@@ -0,0 +1,21 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生詳細の1ページ分の検索結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDetailPage {
+
+  private List<StudentDetail> studentDetailList;
+
+  @Schema(description = "次のページを取得するためのカーソル。最後のページの場合はnull")
+  private String nextCursor;
+}
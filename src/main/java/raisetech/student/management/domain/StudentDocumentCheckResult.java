@@ -0,0 +1,41 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生文書の整合性の確認結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDocumentCheckResult {
+
+  @Schema(description = "確認した受講生の件数")
+  private int checkedCount;
+
+  @Schema(description = "文書が作成されていない受講生の件数")
+  private int missingCount;
+
+  @Schema(description = "文書の内容がテーブルの内容と異なる受講生の件数")
+  private int staleCount;
+
+  @Schema(description = "受講生が存在しない文書の件数")
+  private int orphanCount;
+
+  @Schema(description = "不整合があった受講生ID（先頭から最大100件）")
+  private List<Integer> inconsistentStudentIds;
+
+  /**
+   * 全ての受講生の文書がテーブルの内容と一致しているかどうかを返します。
+   *
+   * @return 不整合がない場合はtrue
+   */
+  @Schema(description = "不整合がない場合はtrue")
+  public boolean isConsistent() {
+    return missingCount == 0 && staleCount == 0 && orphanCount == 0;
+  }
+}
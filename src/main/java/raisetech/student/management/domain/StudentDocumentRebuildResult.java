@@ -0,0 +1,21 @@
+package raisetech.student.management.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生文書の作り直しの結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDocumentRebuildResult {
+
+  @Schema(description = "文書を作り直した受講生の件数")
+  private int rebuiltCount;
+
+  @Schema(description = "受講生が存在しないため削除した文書の件数")
+  private int deletedCount;
+}
@@ -0,0 +1,79 @@
+package raisetech.student.management.domain;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import raisetech.student.management.exception.InvalidFieldsException;
+
+/**
+ * 検索結果に含める受講生の項目（fields パラメータ）です。
+ * 受講生の検索では指定した項目の列だけをデータベースから読み出し、レスポンスにも指定した項目だけを出力します。
+ * 受講生IDは、受講生ごとにまとめる処理と次のページのカーソルに使うため、指定しなくても常に含めます。
+ */
+public final class StudentFields {
+
+  /**
+   * 受講生の項目を絞り込むJSONのフィルターのID
+   */
+  public static final String FILTER_ID = "studentFields";
+
+  /**
+   * 指定できる項目（受講生のJSONのプロパティ名）
+   */
+  public static final List<String> NAMES = List.of(
+      "id", "name", "furigana", "nickname", "email", "city", "age", "gender", "remark", "deleted",
+      "version");
+
+  private final Set<String> names;
+
+  private StudentFields(Set<String> names) {
+    this.names = names;
+  }
+
+  /**
+   * カンマ区切りの項目名を解析します。
+   *
+   * @param fields カンマ区切りの項目名（例: "name,email"）
+   * @return 含める項目。指定がない場合はnull（全ての項目）
+   * @throws InvalidFieldsException 指定できない項目が含まれている場合
+   */
+  public static StudentFields parse(String fields) {
+    if (fields == null || fields.isBlank()) {
+      return null;
+    }
+    Set<String> names = new LinkedHashSet<>();
+    names.add("id");
+    for (String name : fields.split(",")) {
+      String trimmed = name.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      if (!NAMES.contains(trimmed)) {
+        throw new InvalidFieldsException("指定できない項目です: " + trimmed
+            + "（指定できる項目: " + String.join(",", NAMES) + "）");
+      }
+      names.add(trimmed);
+    }
+    return new StudentFields(names);
+  }
+
+  /**
+   * 指定した項目を含めるかどうかを返します。
+   *
+   * @param name 項目名
+   * @return 含める場合はtrue
+   */
+  public boolean contains(String name) {
+    return names.contains(name);
+  }
+
+  /**
+   * 含める項目を返します。
+   *
+   * @return 項目名（受講生IDを含む）
+   */
+  public Set<String> getNames() {
+    return Collections.unmodifiableSet(names);
+  }
+}
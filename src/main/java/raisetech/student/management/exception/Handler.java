@@ -1,12 +1,15 @@
 package raisetech.student.management.exception;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.javassist.NotFoundException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+@Slf4j
 @ControllerAdvice
 public class Handler {
 
@@ -15,8 +18,38 @@ public class Handler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+    return ResponseEntity.badRequest().body(ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidFieldsException.class)
+  public ResponseEntity<String> handleInvalidFieldsException(InvalidFieldsException ex) {
+    return ResponseEntity.badRequest().body(ex.getMessage());
+  }
+
+  @ExceptionHandler(InvalidCourseStatusTransitionException.class)
+  public ResponseEntity<String> handleInvalidCourseStatusTransitionException(
+      InvalidCourseStatusTransitionException ex) {
+    return ResponseEntity.badRequest().body(ex.getMessage());
+  }
+
+  @ExceptionHandler(UpdateConflictException.class)
+  public ResponseEntity<String> handleUpdateConflictException(UpdateConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+  }
+
+  // 同じ受講生への同時の書き込みが、受講生文書の作り直しで行ロックを待ち合って失敗した場合
+  @ExceptionHandler(PessimisticLockingFailureException.class)
+  public ResponseEntity<String> handlePessimisticLockingFailureException(
+      PessimisticLockingFailureException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body("他の更新と競合したため、更新を取り消しました。もう一度実行してください。");
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<String> handleGlobalException(Exception ex) {
+    log.error("予期しない例外が発生しました。", ex);
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
         .body("サーバーエラーが発生しました。詳細: " + ex.getMessage());
   }
@@ -0,0 +1,11 @@
+package raisetech.student.management.exception;
+
+/**
+ * 申込状況の一括変更で、変更するコースを絞り込む条件が正しく指定されていない場合にスローされる例外です。
+ */
+public class InvalidCourseStatusTransitionException extends RuntimeException {
+
+  public InvalidCourseStatusTransitionException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,15 @@
+package raisetech.student.management.exception;
+
+/**
+ * ページングのカーソルとして解釈できない値が指定された場合にスローされる例外です。
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+
+  public InvalidCursorException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,11 @@
+package raisetech.student.management.exception;
+
+/**
+ * 検索結果に含める項目（fields）に、指定できない項目が含まれている場合にスローされる例外です。
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+  public InvalidFieldsException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,11 @@
+package raisetech.student.management.exception;
+
+/**
+ * 更新しようとしたデータが、検索した後に他の更新で変更されていた（バージョン番号が一致しない）場合にスローされる例外です。
+ */
+public class UpdateConflictException extends RuntimeException {
+
+  public UpdateConflictException(String message) {
+    super(message);
+  }
+}
@@ -1,12 +1,20 @@
 package raisetech.student.management.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatusCount;
 import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.data.StudentDocument;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.StudentFields;
+import raisetech.student.management.domain.StudentSearchResponse;
 
 /**
  *受講生テーブルと受講生コース情報テーブルと紐づくRepositoryです。
@@ -16,11 +24,25 @@ import raisetech.student.management.data.StudentCourse;
 public interface StudentRepository {
 
   /**
-   * 受講生の全件検索を行います。
+   * 受講生の全件を受講生ID順に1件ずつ読み出します。
+   * 呼び出し元はトランザクション内で利用し、読み終えたらクローズしてください。
    *
-   * @return 受講生一覧（全件）
+   * @return 受講生のカーソル（受講生ID順）
    */
-  List<Student> search();
+  Cursor<Student> searchStudentCursor();
+
+  /**
+   * 受講生IDの昇順で、指定したIDより後ろの受講生を指定件数まで検索します（キーセットページング）。
+   *
+   * @param deleted 削除済みフラグ。nullの場合は削除済みかどうかで絞り込みません。
+   * @param afterId この受講生IDより大きいIDの受講生を検索します。nullの場合は先頭から検索します。
+   * @param limit 最大件数
+   * @param fields 読み出す受講生の項目。nullの場合は全ての項目を読み出します。
+   * @return 受講生一覧（受講生ID順）
+   */
+  List<Student> searchStudentPage(@Param("deleted") Boolean deleted,
+      @Param("afterId") Integer afterId, @Param("limit") int limit,
+      @Param("fields") StudentFields fields);
 
   /**
    * 受講生の検索を行います。
@@ -30,6 +52,14 @@ public interface StudentRepository {
    */
   Student searchStudent(int id);
 
+  /**
+   * 受講生IDを指定して受講生を検索します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @return 受講生のリスト（受講生ID順）。存在しない受講生は含みません
+   */
+  List<Student> searchStudentsByIds(@Param("studentIds") List<Integer> studentIds);
+
   /**
    * 受講生のコース情報の全件検索を行います。
    *
@@ -37,6 +67,30 @@ public interface StudentRepository {
    */
   List<StudentCourse> searchStudentCourseList();
 
+  /**
+   * 受講生コース情報の全件を受講生ID順に1件ずつ読み出します。
+   * 呼び出し元はトランザクション内で利用し、読み終えたらクローズしてください。
+   *
+   * @return 受講生コース情報のカーソル（受講生ID、受講生コースID順）
+   */
+  Cursor<StudentCourse> searchStudentCourseCursor();
+
+  /**
+   * 受講生コース情報の全件を受講生コースID順に1件ずつ読み出します。
+   * 呼び出し元はトランザクション内で利用し、読み終えたらクローズしてください。
+   *
+   * @return 受講生コース情報のカーソル（受講生コースID順）
+   */
+  Cursor<StudentCourse> searchStudentCourseCursorById();
+
+  /**
+   * コース申込状況の全件を受講生コースID順に1件ずつ読み出します。
+   * 呼び出し元はトランザクション内で利用し、読み終えたらクローズしてください。
+   *
+   * @return コース申込状況のカーソル（受講生コースID、コース申込状況ID順）
+   */
+  Cursor<CourseStatus> searchCourseStatusCursor();
+
   /**
    * 受講生IDに紐づく受講生コース情報を検索します。
    *
@@ -45,6 +99,22 @@ public interface StudentRepository {
    */
   List<StudentCourse> searchStudentCourse(int studentId);
 
+  /**
+   * 複数の受講生IDに紐づく受講生コース情報をまとめて検索します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @return 受講生コース情報のリスト（受講生ID、受講生コースID順）
+   */
+  List<StudentCourse> searchStudentCoursesByStudentIds(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 複数の受講生コースIDの受講生コース情報をまとめて検索します。
+   *
+   * @param courseIds 受講生コースIDのリスト（空でないこと）
+   * @return 受講生コース情報のリスト（受講生コースID順）
+   */
+  List<StudentCourse> searchStudentCoursesByCourseIds(@Param("courseIds") List<Integer> courseIds);
+
   /**
    * 指定したコースIDに紐づくコース申込状況を検索します。
    *
@@ -54,35 +124,194 @@ public interface StudentRepository {
   CourseStatus searchCourseStatus(int courseId);
 
   /**
-   * 条件に基づいて受講生を検索します。
-   * @param name 名前
-   * @param furigana フリガナ
-   * @param city 居住地域
+   * コース名と申込状況ごとに、コース申込状況の件数を集計します。
+   *
+   * @return コース名と申込状況ごとの件数（コース名・申込状況の順）
+   */
+  List<CourseStatusCount> countCourseStatuses();
+
+  /**
+   * 申込状況の一括変更の対象になるコース申込状況に、行ロックを取得します。
+   * 変更後の申込状況になっているコースは対象に含めません。
+   *
+   * @param transition 一括変更の条件
+   * @param courseIds  受講生コースIDのリスト。nullの場合は受講生コースIDで絞り込みません。
+   * @return ロックを取得したコース申込状況の受講生コースID
+   */
+  List<Integer> lockCourseStatusesForTransition(@Param("transition") CourseStatusTransition transition,
+      @Param("courseIds") List<Integer> courseIds);
+
+  /**
+   * 申込状況の一括変更の対象になるコース申込状況の件数を、コース名と変更前の申込状況ごとに集計します。
+   *
+   * @param transition 一括変更の条件
+   * @param courseIds  受講生コースIDのリスト。nullの場合は受講生コースIDで絞り込みません。
+   * @return コース名と変更前の申込状況ごとの件数
+   */
+  List<CourseStatusCount> countCourseStatusesForTransition(
+      @Param("transition") CourseStatusTransition transition,
+      @Param("courseIds") List<Integer> courseIds);
+
+  /**
+   * 条件に合うコース申込状況を、1回のUPDATEでまとめて変更後の申込状況に変更します。
+   *
+   * @param transition 一括変更の条件と変更後の申込状況
+   * @param courseIds  受講生コースIDのリスト。nullの場合は受講生コースIDで絞り込みません。
+   * @return 変更した件数
+   */
+  int updateCourseStatusesForTransition(@Param("transition") CourseStatusTransition transition,
+      @Param("courseIds") List<Integer> courseIds);
+
+  /**
+   * 終了日を過ぎても受講中のままになっているコースの受講生コースIDを、指定したIDより後ろから昇順に指定件数まで検索します（キーセットページング）。
+   *
+   * @param afterId この受講生コースIDより大きいIDのコースを検索します。
+   * @param now     この日時より前に終了日を迎えたコースを検索します。
+   * @param limit   最大件数
+   * @return 受講生コースIDのリスト（昇順）
+   */
+  List<Integer> searchExpiredCourseIds(@Param("afterId") int afterId,
+      @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  /**
+   * 定期実行する処理の進捗（処理を終えた最後のID）を検索します。
+   *
+   * @param jobName 処理の名前
+   * @return 処理を終えた最後のID。記録がない場合はnull
+   */
+  Integer searchBatchCheckpoint(@Param("jobName") String jobName);
+
+  /**
+   * 定期実行する処理の進捗を記録します。記録がない場合は登録し、ある場合は更新します。
+   *
+   * @param jobName   処理の名前
+   * @param lastId    処理を終えた最後のID
+   * @param updatedAt 記録した日時
+   */
+  void saveBatchCheckpoint(@Param("jobName") String jobName, @Param("lastId") int lastId,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * 条件に基づいて、受講生・受講生コース情報・コース申込状況を1回の問い合わせで結合して検索します。
+   * コース名と申込状況の条件は結合条件として扱うため、条件に合うコースがない受講生も空のコース一覧で返ります。
+   *
+   * @param name 名前（部分一致）
+   * @param furigana フリガナの検索キー（KanaNormalizerで正規化した値、部分一致）
+   * @param city 居住地域（部分一致）
    * @param age 年齢
    * @param gender 性別
-   * @return 受講生のリスト
+   * @param courseName コース名
+   * @param status コースステータス
+   * @param candidateIds 検索インデックスで絞り込んだ受講生ID。指定した場合はこの受講生IDで絞り込み、名前・フリガナ・居住地域の部分一致はその中で確かめ直します
+   * @param fields 読み出す受講生の項目。nullの場合は全ての項目を読み出します。
+   * @return 受講生詳細と受講生コース詳細を統合したリスト（受講生ID順）
    */
-  List<Student> findStudentsByConditions(
+  List<StudentSearchResponse> searchIntegratedDetails(
       @Param("name") String name,
       @Param("furigana") String furigana,
       @Param("city") String city,
       @Param("age") Integer age,
-      @Param("gender") String gender
+      @Param("gender") String gender,
+      @Param("courseName") String courseName,
+      @Param("status") CourseStatus.Status status,
+      @Param("candidateIds") List<Integer> candidateIds,
+      @Param("fields") StudentFields fields
   );
 
   /**
-   * 条件に基づいて受講生コースを検索します。
-   * @param courseName コース名
-   * @return 受講生コースのリスト
+   * 受講生文書の作成元として、受講生・受講生コース情報・コース申込状況を受講生IDで結合して検索します。
+   * lockにtrueを指定した場合は行ロックを取得し、トランザクションの開始時点ではなく最新の行を読み出します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @param lock       行ロックを取得する場合はtrue
+   * @return 受講生詳細と受講生コース詳細を統合したリスト（受講生ID順）。存在しない受講生は含みません
    */
-  List<StudentCourse> findCoursesByConditions(@Param("courseName") String courseName);
+  List<StudentSearchResponse> searchStudentDocumentSources(
+      @Param("studentIds") List<Integer> studentIds, @Param("lock") boolean lock);
 
   /**
-   * 条件に基づいて申込状況を検索します。
-   * @param status コースステータス
-   * @return コースステータスのリスト
+   * 受講生文書を検索します。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生文書（JSON）。作成されていない場合はnull
+   */
+  String searchStudentDocument(@Param("studentId") int studentId);
+
+  /**
+   * 複数の受講生IDの受講生文書をまとめて検索します。
+   *
+   * @param studentIds 受講生IDのリスト（空でないこと）
+   * @return 受講生文書のリスト（受講生ID順）
+   */
+  List<StudentDocument> searchStudentDocuments(@Param("studentIds") List<Integer> studentIds);
+
+  /**
+   * 受講生が存在しない受講生文書の受講生IDを検索します。
+   *
+   * @return 受講生ID（昇順）
+   */
+  List<Integer> searchOrphanStudentDocumentIds();
+
+  /**
+   * 受講生文書をまとめて登録します。既に登録されている受講生の文書は置き換えます。
+   *
+   * @param documents 受講生文書のリスト（空でないこと）
+   */
+  void saveStudentDocuments(@Param("documents") List<StudentDocument> documents);
+
+  /**
+   * 受講生が存在しない受講生文書を削除します。
+   *
+   * @return 削除した件数
+   */
+  int deleteOrphanStudentDocuments();
+
+  /**
+   * 変更を送信待ちに1回のINSERT文でまとめて追加します。
+   *
+   * @param events 変更のリスト（空でないこと）
+   */
+  void registerStudentChangeOutbox(List<StudentChangeEvent> events);
+
+  /**
+   * 送信待ちの変更を古い順に検索し、行ロックを取得します。
+   *
+   * @param limit 最大件数
+   * @return 送信待ちの変更（送信待ちのID順）
+   */
+  List<StudentChangeEvent> searchStudentChangeOutbox(@Param("limit") int limit);
+
+  /**
+   * 送信待ちの変更を削除します。
+   *
+   * @param ids 送信待ちのIDのリスト（空でないこと）
+   * @return 削除した件数
+   */
+  int deleteStudentChangeOutbox(@Param("ids") List<Long> ids);
+
+  /**
+   * 変更を1回のINSERT文でまとめて変更フィードに追加します。配信番号は自動採番され、リストの順に各変更に設定されます。
+   *
+   * @param events 変更のリスト（空でないこと）
    */
-  List<CourseStatus> findCourseStatusByConditions(@Param("status") CourseStatus.Status status);
+  void registerStudentChangeFeed(List<StudentChangeEvent> events);
+
+  /**
+   * 指定した配信番号より後の変更を、配信番号の順に検索します。
+   *
+   * @param afterOffset 配信番号（この番号より後の変更を検索します）
+   * @param limit       最大件数
+   * @return 変更のリスト
+   */
+  List<StudentChangeEvent> searchStudentChangeFeed(@Param("afterOffset") long afterOffset,
+      @Param("limit") int limit);
+
+  /**
+   * 変更フィードの最新の配信番号を返します。
+   *
+   * @return 最新の配信番号。変更フィードが空の場合は0
+   */
+  long searchLatestStudentChangeFeedOffset();
 
   /**
    * 受講生とそのコースの詳細およびステータス情報を検索します。
@@ -92,7 +321,8 @@ public interface StudentRepository {
    * @param status ステータス（任意）
    * @return 条件に一致する受講生情報
    */
-  List<StudentCourse> searchStudentsWithStatus(int studentId, int courseId, CourseStatus.Status status);
+  List<StudentCourse> searchStudentsWithStatus(@Param("studentId") int studentId,
+      @Param("courseId") int courseId, @Param("status") CourseStatus.Status status);
 
   /**
    * 受講生IDに紐づく受講生コース情報を検索します。
@@ -132,25 +362,49 @@ public interface StudentRepository {
   void registerCourseStatus(CourseStatus courseStatus);
 
   /**
-   * 受講生を更新します。
+   * 複数の受講生を1回のINSERT文でまとめて新規登録します。IDは自動採番され、各受講生に設定されます。
    *
-   * @param student 受講生
+   * @param students 受講生のリスト（空でないこと）
+   */
+  void registerStudents(List<Student> students);
+
+  /**
+   * 複数の受講生コース情報を1回のINSERT文でまとめて新規登録します。IDは自動採番され、各受講生コース情報に設定されます。
+   *
+   * @param studentCourses 受講生コース情報のリスト（空でないこと）
+   */
+  void registerStudentCourses(List<StudentCourse> studentCourses);
+
+  /**
+   * 複数のコース申込状況を1回のINSERT文でまとめて新規登録します。IDは自動採番され、各コース申込状況に設定されます。
+   *
+   * @param courseStatuses コース申込状況のリスト（空でないこと）
    */
-  void updateStudent(Student student);
+  void registerCourseStatuses(List<CourseStatus> courseStatuses);
 
   /**
-   * 受講生コース情報のコース名を更新します。
+   * 受講生を更新します。バージョン番号が一致する場合のみ更新し、バージョン番号を1増やします。
    *
-   * @param studentCourse 受講生コース情報
+   * @param student 受講生（バージョン番号は検索した時点の値）
+   * @return 更新した件数。他の更新でバージョン番号が変わっていた場合や、受講生が存在しない場合は0
    */
-  void updateStudentCourse(StudentCourse studentCourse);
+  int updateStudent(Student student);
 
   /**
-   * 受講生のステータスを更新します。
+   * 受講生コース情報のコース名を更新します。バージョン番号が一致する場合のみ更新し、バージョン番号を1増やします。
    *
-   * @param courseStatus 受講生のステータス更新情報
+   * @param studentCourse 受講生コース情報（バージョン番号は検索した時点の値）
+   * @return 更新した件数。他の更新でバージョン番号が変わっていた場合や、受講生コース情報が存在しない場合は0
    */
-  void updateCourseStatus(CourseStatus courseStatus);
+  int updateStudentCourse(StudentCourse studentCourse);
+
+  /**
+   * 受講生のステータスを更新します。バージョン番号が一致する場合のみ更新し、バージョン番号を1増やします。
+   *
+   * @param courseStatus 受講生のステータス更新情報（バージョン番号は検索した時点の値）
+   * @return 更新した件数。他の更新でバージョン番号が変わっていた場合や、申込状況が存在しない場合は0
+   */
+  int updateCourseStatus(CourseStatus courseStatus);
 
   /**
    * コース申込状況の全件を検索し、一覧を取得します。
@@ -162,4 +416,13 @@ public interface StudentRepository {
    * @return 全てのコース申込状況を格納した {@link List}。コース申込状況が存在しない場合は空のリストを返します。
    */
   List<CourseStatus> searchCourseStatusList();
+
+  /**
+   * コース詳細一覧の状態を表す値を返します。変更フィードの最新の配信番号と送信待ちの最大IDから作ります。
+   * 変更は書き込みと同じトランザクションで送信待ちに追加されるため、変更がコミットされると送信待ちの最大IDが増え、
+   * 配信されて送信待ちから削除された後は配信番号が増えるため、一度返した値に戻ることはありません。
+   *
+   * @return コース詳細一覧の状態を表す値（例: 120-125）
+   */
+  String searchCourseListVersion();
 }
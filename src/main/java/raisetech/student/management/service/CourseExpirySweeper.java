@@ -0,0 +1,191 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 終了日を過ぎても受講中のままになっているコースを、定期的に受講終了に変更する処理です。
+ * 受講生コースIDの昇順に、指定件数ずつのバッチで読み進め（キーセットページング）、バッチごとに1つのトランザクションで
+ * 申込状況を変更して、処理を終えた最後の受講生コースIDを進捗として記録します。異常終了した場合は、次回の実行で記録した進捗から再開します。
+ * オンラインの処理を妨げないように、1秒あたりの変更件数が上限を超えないようバッチの間で待ちます。
+ * 変更件数、バッチ数、進捗は student.course-expiry.* のメトリクスとして公開します。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "student.course-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class CourseExpirySweeper implements MeterBinder {
+
+  /**
+   * 進捗を記録する処理の名前
+   */
+  static final String JOB_NAME = "courseExpiry";
+
+  private final StudentRepository repository;
+  private final StudentService studentService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxRowsPerSecond;
+
+  private final LongAdder updatedCount = new LongAdder();
+  private final LongAdder batchCount = new LongAdder();
+  private final LongAdder completedRunCount = new LongAdder();
+  private final AtomicLong checkpoint = new AtomicLong();
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Autowired
+  public CourseExpirySweeper(StudentRepository repository, StudentService studentService,
+      PlatformTransactionManager transactionManager,
+      @Value("${student.course-expiry.batch-size:500}") int batchSize,
+      @Value("${student.course-expiry.max-rows-per-second:2000}") int maxRowsPerSecond) {
+    this.repository = repository;
+    this.studentService = studentService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxRowsPerSecond = maxRowsPerSecond;
+  }
+
+  /**
+   * 設定した間隔で {@link #sweep(LocalDateTime)} を実行します。
+   */
+  @Scheduled(fixedDelayString = "${student.course-expiry.interval:PT1H}",
+      initialDelayString = "${student.course-expiry.initial-delay:PT1M}")
+  public void scheduledSweep() {
+    try {
+      int updated = sweep(LocalDateTime.now());
+      log.info("終了日を過ぎたコースを受講終了に変更しました。件数={}", updated);
+    } catch (RuntimeException e) {
+      log.error("終了日を過ぎたコースの受講終了への変更に失敗しました。進捗={}", checkpoint.get(), e);
+    }
+  }
+
+  /**
+   * 指定した日時より前に終了日を迎えた受講中のコースを、全て受講終了に変更します。
+   * 記録した進捗がある場合は、その続きから処理します。最後まで処理したら、次回は先頭から処理するよう進捗を0に戻します。
+   * 既に実行中の場合は何もしません。
+   *
+   * @param now この日時より前に終了日を迎えたコースを変更します。
+   * @return 受講終了に変更した件数
+   */
+  public int sweep(LocalDateTime now) {
+    if (!running.compareAndSet(false, true)) {
+      return 0;
+    }
+    try {
+      Integer savedCheckpoint = repository.searchBatchCheckpoint(JOB_NAME);
+      int afterId = savedCheckpoint != null ? savedCheckpoint : 0;
+      checkpoint.set(afterId);
+      int updated = 0;
+      while (true) {
+        long startedAt = System.nanoTime();
+        int from = afterId;
+        Batch batch = transactionTemplate.execute(status -> processBatch(from, now));
+        if (batch == null) {
+          completedRunCount.increment();
+          return updated;
+        }
+        afterId = batch.lastId();
+        updated += batch.updatedCount();
+        if (!throttle(batch.size(), System.nanoTime() - startedAt)) {
+          return updated;
+        }
+      }
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * 1バッチ分のコースを受講終了に変更し、進捗を同じトランザクションで記録します。
+   *
+   * @return 処理したバッチ。変更するコースが残っていない場合はnull
+   */
+  private Batch processBatch(int afterId, LocalDateTime now) {
+    List<Integer> courseIds = repository.searchExpiredCourseIds(afterId, now, batchSize);
+    if (courseIds.isEmpty()) {
+      repository.saveBatchCheckpoint(JOB_NAME, 0, LocalDateTime.now());
+      TransactionCallbacks.afterCommit(() -> checkpoint.set(0));
+      return null;
+    }
+
+    // 検索してから変更するまでに終了日が延長されたコースは変更しないよう、終了日の条件も変更の条件に含める
+    int updated = studentService.transitionCourseStatuses(new CourseStatusTransition(
+        CourseStatus.Status.受講終了, courseIds, null, CourseStatus.Status.受講中, null, null, now))
+        .getUpdatedCount();
+    int lastId = courseIds.get(courseIds.size() - 1);
+    repository.saveBatchCheckpoint(JOB_NAME, lastId, LocalDateTime.now());
+
+    TransactionCallbacks.afterCommit(() -> {
+      checkpoint.set(lastId);
+      updatedCount.add(updated);
+      batchCount.increment();
+    });
+    return new Batch(lastId, courseIds.size(), updated);
+  }
+
+  /**
+   * 1秒あたりの変更件数が上限を超えないよう、バッチの処理時間に応じて待ちます。
+   *
+   * @return 続けて処理する場合はtrue。待っている間に割り込まれた場合はfalse
+   */
+  private boolean throttle(int rows, long elapsedNanos) {
+    if (maxRowsPerSecond <= 0) {
+      return true;
+    }
+    long waitNanos = TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond - elapsedNanos;
+    if (waitNanos <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("student.course-expiry.updated", updatedCount, LongAdder::sum)
+        .description("受講終了に変更したコースの件数")
+        .register(registry);
+    FunctionCounter.builder("student.course-expiry.batches", batchCount, LongAdder::sum)
+        .description("処理したバッチの数")
+        .register(registry);
+    FunctionCounter.builder("student.course-expiry.runs", completedRunCount, LongAdder::sum)
+        .description("最後まで処理した回数")
+        .register(registry);
+    Gauge.builder("student.course-expiry.checkpoint", checkpoint, AtomicLong::get)
+        .description("処理を終えた最後の受講生コースID")
+        .register(registry);
+    Gauge.builder("student.course-expiry.running", running, value -> value.get() ? 1 : 0)
+        .description("実行中の場合は1")
+        .register(registry);
+  }
+
+  /**
+   * 処理したバッチの、最後の受講生コースID、読み込んだ件数、変更した件数です。
+   */
+  private record Batch(int lastId, int size, int updatedCount) {
+
+  }
+}
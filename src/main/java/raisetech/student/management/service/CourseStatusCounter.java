@@ -0,0 +1,283 @@
+package raisetech.student.management.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.data.CourseStatusCount;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * コース名と申込状況ごとの件数を、メモリ上で増減させて保持する集計です。
+ * コース名ごとに申込状況の順序（{@link Status#ordinal()}）を添字にした配列で件数を持ち、配列単位で排他して更新するため、
+ * 申込状況の変更による件数の移動は他の処理から途中の状態が見えません。
+ * 件数はアプリケーションが受け付け始める前に、データベースの集計（GROUP BY）から作成します。
+ * その後は申込状況の登録・変更とコース名の変更の増減を、{@link #applyAfterCommit(Runnable)} でコミット後に反映してください。
+ * 同じコースの申込状況の変更とコース名の変更が並行してコミットされ、増減の前提にした値が変わっていた場合は、
+ * {@link #markStale()} で作り直しが必要なことを記録し、定期処理がリクエストとは別のスレッドで作り直します。
+ * 作り直しの集計中に反映された増減や、コミット済みで反映待ちの増減があった場合は、集計に含まれたかどうかが分からないため
+ * 集計結果を捨て、次の定期処理でもう一度作り直します。そのため、反映した増減が失われたり、集計に含まれた増減が重ねて反映されたりしません。
+ */
+@Slf4j
+@Component
+public class CourseStatusCounter implements SmartInitializingSingleton {
+
+  private static final Status[] STATUSES = Status.values();
+
+  private final StudentRepository repository;
+
+  private volatile Map<String, long[]> counts = new ConcurrentHashMap<>();
+
+  /**
+   * 増減の反映（共有）と、作り直した件数への入れ替え（排他）の排他制御
+   */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * これまでに反映した増減の回数。作り直しの集計中に増減が反映されたかを確かめるために使います。
+   */
+  private final AtomicLong appliedDeltas = new AtomicLong();
+
+  /**
+   * トランザクションのコミット待ち、またはコミット後の反映待ちの増減の件数
+   */
+  private final AtomicInteger pendingDeltas = new AtomicInteger();
+
+  private final AtomicBoolean stale = new AtomicBoolean();
+
+  @Autowired
+  public CourseStatusCounter(StudentRepository repository) {
+    this.repository = repository;
+  }
+
+  /**
+   * 全てのシングルトンの作成後、Webサーバーが受け付けを始める前にデータベースから件数を作成します。
+   */
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild(repository.countCourseStatuses());
+  }
+
+  /**
+   * 件数の作り直しが必要なことを記録します。作り直しは {@link #rebuildIfStale()} で行います。
+   */
+  public void markStale() {
+    stale.set(true);
+  }
+
+  /**
+   * 作り直しが必要な場合に、設定した間隔でデータベースを集計して件数を作り直します。
+   * 集計中の増減で作り直せなかった場合や、集計に失敗した場合は、次の実行でもう一度作り直します。
+   */
+  @Scheduled(fixedDelayString = "${student.course-status-counter.rebuild-interval:PT10S}")
+  public void rebuildIfStale() {
+    if (!stale.getAndSet(false)) {
+      return;
+    }
+    try {
+      if (!rebuild()) {
+        stale.set(true);
+      }
+    } catch (RuntimeException e) {
+      stale.set(true);
+      log.error("申込状況の件数の作り直しに失敗しました。", e);
+    }
+  }
+
+  /**
+   * データベースを集計して件数を作り直します。
+   * 集計の開始時から入れ替えまでの間に、増減が反映された場合や反映待ちの増減があった場合は、集計結果を捨てて作り直しません。
+   *
+   * @return 作り直した場合はtrue
+   */
+  public boolean rebuild() {
+    if (pendingDeltas.get() > 0) {
+      return false;
+    }
+    long appliedBefore = appliedDeltas.get();
+    Map<String, long[]> rebuilt = toCounts(repository.countCourseStatuses());
+    lock.writeLock().lock();
+    try {
+      if (pendingDeltas.get() > 0 || appliedDeltas.get() != appliedBefore) {
+        return false;
+      }
+      counts = rebuilt;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * データベースの集計結果から件数を作り直します。増減の反映とは排他しますが、集計に含まれない増減かどうかは確かめません。
+   *
+   * @param courseStatusCounts コース名と申込状況ごとの件数
+   */
+  public void rebuild(List<CourseStatusCount> courseStatusCounts) {
+    Map<String, long[]> rebuilt = toCounts(courseStatusCounts);
+    lock.writeLock().lock();
+    try {
+      counts = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static Map<String, long[]> toCounts(List<CourseStatusCount> courseStatusCounts) {
+    Map<String, long[]> rebuilt = new ConcurrentHashMap<>();
+    for (CourseStatusCount courseStatusCount : courseStatusCounts) {
+      rebuilt.computeIfAbsent(courseStatusCount.getCourseName(), key -> new long[STATUSES.length])
+          [courseStatusCount.getStatus().ordinal()] += courseStatusCount.getCount();
+    }
+    return rebuilt;
+  }
+
+  /**
+   * 実行中のトランザクションがコミットされた後に、増減を反映する処理を実行します。トランザクション外で呼び出された場合は、その場で実行します。
+   * コミットされて反映し終えるまでは反映待ちとして数え、その間の作り直しは集計結果を捨てます。
+   *
+   * @param delta 増減を反映する処理
+   */
+  public void applyAfterCommit(Runnable delta) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      delta.run();
+      return;
+    }
+    pendingDeltas.incrementAndGet();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        try {
+          if (status == STATUS_COMMITTED) {
+            delta.run();
+          }
+        } finally {
+          pendingDeltas.decrementAndGet();
+        }
+      }
+    });
+  }
+
+  /**
+   * 申込状況の登録を反映します。
+   *
+   * @param courseName コース名
+   * @param status     登録した申込状況
+   */
+  public void increment(String courseName, Status status) {
+    lock.readLock().lock();
+    try {
+      appliedDeltas.incrementAndGet();
+      long[] courseCounts = counts.computeIfAbsent(courseName, key -> new long[STATUSES.length]);
+      synchronized (courseCounts) {
+        courseCounts[status.ordinal()]++;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 申込状況の変更を反映します。変更前の件数を減らし、変更後の件数を増やします。
+   *
+   * @param courseName コース名
+   * @param from       変更前の申込状況
+   * @param to         変更後の申込状況
+   */
+  public void changeStatus(String courseName, Status from, Status to) {
+    changeStatus(courseName, from, to, 1);
+  }
+
+  /**
+   * 複数のコースの申込状況の変更をまとめて反映します。変更前の件数を減らし、変更後の件数を増やします。
+   *
+   * @param courseName コース名
+   * @param from       変更前の申込状況
+   * @param to         変更後の申込状況
+   * @param count      変更したコースの件数
+   */
+  public void changeStatus(String courseName, Status from, Status to, long count) {
+    if (from == to) {
+      return;
+    }
+    lock.readLock().lock();
+    try {
+      appliedDeltas.incrementAndGet();
+      long[] courseCounts = counts.computeIfAbsent(courseName, key -> new long[STATUSES.length]);
+      synchronized (courseCounts) {
+        courseCounts[from.ordinal()] -= count;
+        courseCounts[to.ordinal()] += count;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * コース名の変更を反映します。変更前のコース名の件数を減らし、変更後のコース名の件数を増やします。
+   *
+   * @param from   変更前のコース名
+   * @param to     変更後のコース名
+   * @param status コースの申込状況
+   */
+  public void changeCourseName(String from, String to, Status status) {
+    if (from.equals(to)) {
+      return;
+    }
+    lock.readLock().lock();
+    try {
+      appliedDeltas.incrementAndGet();
+      long[] fromCounts = counts.computeIfAbsent(from, key -> new long[STATUSES.length]);
+      synchronized (fromCounts) {
+        fromCounts[status.ordinal()]--;
+      }
+      long[] toCounts = counts.computeIfAbsent(to, key -> new long[STATUSES.length]);
+      synchronized (toCounts) {
+        toCounts[status.ordinal()]++;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * コース名ごとの申込状況の件数を、コース名の昇順で返します。全ての申込状況が0件のコース名は含めません。
+   *
+   * @return コース名ごとの申込状況の件数
+   */
+  public List<CourseStatusSummary> summarize() {
+    List<CourseStatusSummary> summaries = new ArrayList<>();
+    counts.forEach((courseName, courseCounts) -> {
+      long[] snapshot;
+      synchronized (courseCounts) {
+        snapshot = courseCounts.clone();
+      }
+      Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+      boolean empty = true;
+      for (Status status : STATUSES) {
+        statusCounts.put(status, snapshot[status.ordinal()]);
+        empty &= snapshot[status.ordinal()] == 0;
+      }
+      if (!empty) {
+        summaries.add(new CourseStatusSummary(courseName, statusCounts));
+      }
+    });
+    summaries.sort((a, b) -> a.getCourseName().compareTo(b.getCourseName()));
+    return summaries;
+  }
+}
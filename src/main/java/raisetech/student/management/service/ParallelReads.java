@@ -0,0 +1,101 @@
+package raisetech.student.management.service;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 互いに依存しない読み込み処理を並行して実行し、両方の結果がそろってから結合するためのコンポーネントです。
+ * 2つの読み込みはアプリケーションの非同期処理用のタスク実行器（applicationTaskExecutor）で実行するため、
+ * 仮想スレッドを使うかどうかや同時実行数の上限は spring.threads.virtual.enabled と spring.task.execution の設定に従います。
+ * どちらかが失敗した時点でもう一方を割り込みで取り消し、先に発生した例外をそのまま呼び出し元にスローします。
+ * 読み込みは呼び出し元のトランザクションには参加しないため、トランザクション外の参照処理にのみ使用してください。
+ */
+@Component
+public class ParallelReads {
+
+  private final AsyncTaskExecutor executor;
+
+  @Autowired
+  public ParallelReads(
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * 2つの読み込み処理を並行して実行し、結果を結合します。
+   *
+   * @param first    1つ目の読み込み処理
+   * @param second   2つ目の読み込み処理
+   * @param combiner 2つの結果を結合する処理（両方の読み込みが完了してから呼び出し元のスレッドで実行します）
+   * @return 結合した結果
+   * @throws CancellationException 結果を待っている間に呼び出し元のスレッドが割り込まれた場合
+   */
+  public <A, B, R> R join(Supplier<A> first, Supplier<B> second,
+      BiFunction<? super A, ? super B, ? extends R> combiner) {
+    CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+    Future<Object> firstFuture = completion.submit(first::get);
+    Future<Object> secondFuture;
+    try {
+      secondFuture = completion.submit(second::get);
+    } catch (RuntimeException | Error e) {
+      firstFuture.cancel(true);
+      throw e;
+    }
+    List<Future<Object>> futures = List.of(firstFuture, secondFuture);
+    try {
+      // 完了した順に結果を確認し、先に失敗した方の例外で残りを取り消す
+      for (int i = 0; i < futures.size(); i++) {
+        resultOf(completion.take());
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      CancellationException cancellation = new CancellationException("読み込みの待機中に割り込まれました");
+      cancellation.initCause(e);
+      throw cancellation;
+    } catch (RuntimeException | Error e) {
+      futures.forEach(future -> future.cancel(true));
+      throw e;
+    }
+    @SuppressWarnings("unchecked")
+    A firstResult = (A) resultOf(firstFuture);
+    @SuppressWarnings("unchecked")
+    B secondResult = (B) resultOf(secondFuture);
+    return combiner.apply(firstResult, secondResult);
+  }
+
+  /**
+   * 完了した読み込みの結果を返します。読み込みが失敗していた場合は、その例外をそのままスローします。
+   */
+  private static Object resultOf(Future<Object> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      // 完了済みのため待機せずに返るが、割り込まれた場合は割り込み状態を戻して取り消し扱いにする
+      Thread.currentThread().interrupt();
+      CancellationException cancellation = new CancellationException("読み込みの待機中に割り込まれました");
+      cancellation.initCause(e);
+      throw cancellation;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
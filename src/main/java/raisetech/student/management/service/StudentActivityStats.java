@@ -0,0 +1,209 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.data.CourseStatus.Status;
+
+/**
+ * 受講生の登録数、申込状況の変更数、コース名ごとの受講登録数を記録する統計です。
+ * 件数はスレッドごとに分散して加算する {@link LongAdder} で持つため、同時に記録する処理同士がロックで待ち合うことはありません。
+ * 登録数は1秒単位の区間ごとにも記録し、直近 {@value #MAX_WINDOW_SECONDS} 秒までの1秒あたりの登録数を返せます。
+ * 参照はそれぞれの件数を読み取って合計するだけで、記録する処理を止めません。そのため、記録中の件数を含むおおよその値になります。
+ * 登録数と変更数は student.registrations、student.registrations.rate、student.status.changes のメトリクスとして公開します。
+ */
+@Component
+public class StudentActivityStats implements MeterBinder {
+
+  /**
+   * 1秒あたりの登録数を計算できる区間の最大秒数
+   */
+  public static final int MAX_WINDOW_SECONDS = 300;
+
+  private static final Status[] STATUSES = Status.values();
+
+  private final LongSupplier currentTimeMillis;
+
+  private final LongAdder registrations = new LongAdder();
+
+  /**
+   * 1秒単位の区間ごとの登録数。経過秒数を区間数で割った余りの位置に、古い区間を置き換えながら記録します。
+   */
+  private final AtomicReferenceArray<SecondBucket> registrationBuckets =
+      new AtomicReferenceArray<>(MAX_WINDOW_SECONDS);
+
+  /**
+   * 変更前と変更後の申込状況の組ごとの変更数。変更前の順序 × 申込状況の数 + 変更後の順序を添字にします。
+   */
+  private final LongAdder[] statusChanges = new LongAdder[STATUSES.length * STATUSES.length];
+
+  private final Map<String, LongAdder> enrollments = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StudentActivityStats() {
+    this(System::currentTimeMillis);
+  }
+
+  StudentActivityStats(LongSupplier currentTimeMillis) {
+    this.currentTimeMillis = currentTimeMillis;
+    for (int i = 0; i < statusChanges.length; i++) {
+      statusChanges[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * 受講生の登録を記録します。
+   */
+  public void recordRegistration() {
+    registrations.increment();
+    long second = currentTimeMillis.getAsLong() / 1000;
+    int index = (int) (second % MAX_WINDOW_SECONDS);
+    SecondBucket bucket = registrationBuckets.get(index);
+    // 古い区間は置き換える。時刻を取得してから遅れた記録は、新しい区間に含める
+    while (bucket == null || bucket.second < second) {
+      SecondBucket next = new SecondBucket(second);
+      if (registrationBuckets.compareAndSet(index, bucket, next)) {
+        bucket = next;
+      } else {
+        bucket = registrationBuckets.get(index);
+      }
+    }
+    bucket.count.increment();
+  }
+
+  /**
+   * 申込状況の変更を記録します。
+   *
+   * @param from 変更前の申込状況
+   * @param to   変更後の申込状況
+   */
+  public void recordStatusChange(Status from, Status to) {
+    recordStatusChanges(from, to, 1);
+  }
+
+  /**
+   * 複数のコースの申込状況の変更をまとめて記録します。
+   *
+   * @param from  変更前の申込状況
+   * @param to    変更後の申込状況
+   * @param count 変更したコースの件数
+   */
+  public void recordStatusChanges(Status from, Status to, long count) {
+    statusChanges[from.ordinal() * STATUSES.length + to.ordinal()].add(count);
+  }
+
+  /**
+   * コースへの受講登録を記録します。
+   *
+   * @param courseName コース名
+   */
+  public void recordEnrollment(String courseName) {
+    LongAdder count = enrollments.get(courseName);
+    if (count == null) {
+      count = enrollments.computeIfAbsent(courseName, key -> new LongAdder());
+    }
+    count.increment();
+  }
+
+  /**
+   * 起動してからの受講生の登録数を返します。
+   *
+   * @return 登録数
+   */
+  public long registrationCount() {
+    return registrations.sum();
+  }
+
+  /**
+   * 直近の指定した区間での、1秒あたりの受講生の登録数を返します。区間には現在の1秒も含みます。
+   *
+   * @param window 区間（1秒以上、{@value #MAX_WINDOW_SECONDS}秒以下）
+   * @return 1秒あたりの登録数
+   * @throws IllegalArgumentException 区間が範囲外の場合
+   */
+  public double registrationsPerSecond(Duration window) {
+    long windowSeconds = window.toSeconds();
+    if (windowSeconds < 1 || windowSeconds > MAX_WINDOW_SECONDS) {
+      throw new IllegalArgumentException("区間は1秒以上" + MAX_WINDOW_SECONDS + "秒以下で指定してください: " + window);
+    }
+    long now = currentTimeMillis.getAsLong() / 1000;
+    long total = 0;
+    for (int i = 0; i < MAX_WINDOW_SECONDS; i++) {
+      SecondBucket bucket = registrationBuckets.get(i);
+      if (bucket != null && bucket.second > now - windowSeconds && bucket.second <= now) {
+        total += bucket.count.sum();
+      }
+    }
+    return (double) total / windowSeconds;
+  }
+
+  /**
+   * 起動してからの、指定した申込状況の変更数を返します。
+   *
+   * @param from 変更前の申込状況
+   * @param to   変更後の申込状況
+   * @return 変更数
+   */
+  public long statusChangeCount(Status from, Status to) {
+    return statusChanges[from.ordinal() * STATUSES.length + to.ordinal()].sum();
+  }
+
+  /**
+   * 起動してからの、コース名ごとの受講登録数をコース名の昇順で返します。
+   *
+   * @return コース名ごとの受講登録数
+   */
+  public Map<String, Long> enrollmentCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    enrollments.forEach((courseName, count) -> counts.put(courseName, count.sum()));
+    return counts;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("student.registrations", registrations, LongAdder::sum)
+        .description("受講生の登録数")
+        .register(registry);
+    for (Duration window : new Duration[]{Duration.ofMinutes(1), Duration.ofMinutes(5)}) {
+      Gauge.builder("student.registrations.rate", this, stats -> stats.registrationsPerSecond(window))
+          .description("直近の区間での1秒あたりの受講生の登録数")
+          .tag("window", window.toMinutes() + "m")
+          .register(registry);
+    }
+    for (Status from : STATUSES) {
+      for (Status to : STATUSES) {
+        if (from != to) {
+          FunctionCounter.builder("student.status.changes",
+                  statusChanges[from.ordinal() * STATUSES.length + to.ordinal()], LongAdder::sum)
+              .description("申込状況の変更数")
+              .tag("from", from.name())
+              .tag("to", to.name())
+              .register(registry);
+        }
+      }
+    }
+  }
+
+  /**
+   * 1秒単位の区間の登録数です。区間が変わると新しいインスタンスに置き換えます。
+   */
+  private static final class SecondBucket {
+
+    private final long second;
+    private final LongAdder count = new LongAdder();
+
+    SecondBucket(long second) {
+      this.second = second;
+    }
+  }
+}
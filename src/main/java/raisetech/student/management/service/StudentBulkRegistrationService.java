@@ -0,0 +1,195 @@
+package raisetech.student.management.service;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.BulkRegistrationError;
+import raisetech.student.management.domain.BulkRegistrationResult;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生詳細の一括登録を行うサービスです。
+ * 受講生・受講生コース情報・コース申込状況を、チャンクごとにそれぞれ1回の複数行INSERTで登録します。
+ * チャンクは個別のトランザクションで登録し、失敗したチャンクは1件ずつ登録し直して失敗した要素を特定します。
+ */
+@Timed("student.service")
+@Service
+public class StudentBulkRegistrationService {
+
+  /**
+   * 1回のリクエストで指定できるチャンクサイズの上限
+   */
+  public static final int MAX_CHUNK_SIZE = 1000;
+
+  private StudentRepository repository;
+  private StudentDetailCache studentDetailCache;
+  private StudentSearchIndex studentSearchIndex;
+  private CourseStatusCounter courseStatusCounter;
+  private StudentActivityStats studentActivityStats;
+  private StudentDocumentStore studentDocumentStore;
+  private TransactionTemplate transactionTemplate;
+  private Validator validator;
+  private int defaultChunkSize;
+
+  @Autowired
+  public StudentBulkRegistrationService(StudentRepository repository,
+      StudentDetailCache studentDetailCache, StudentSearchIndex studentSearchIndex,
+      CourseStatusCounter courseStatusCounter, StudentActivityStats studentActivityStats,
+      StudentDocumentStore studentDocumentStore,
+      PlatformTransactionManager transactionManager, Validator validator,
+      @Value("${student.bulk-registration.chunk-size:500}") int defaultChunkSize) {
+    this.repository = repository;
+    this.studentDetailCache = studentDetailCache;
+    this.studentSearchIndex = studentSearchIndex;
+    this.courseStatusCounter = courseStatusCounter;
+    this.studentActivityStats = studentActivityStats;
+    this.studentDocumentStore = studentDocumentStore;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.validator = validator;
+    this.defaultChunkSize = defaultChunkSize;
+  }
+
+  /**
+   * 受講生詳細を一括登録します。入力チェックに掛かった要素と登録に失敗した要素は登録せず、エラーとして返します。
+   *
+   * @param studentDetails 受講生詳細のリスト
+   * @param chunkSize      1回のINSERTで登録する受講生の件数。nullの場合は設定値を使います。
+   * @return 登録結果
+   */
+  public BulkRegistrationResult registerStudents(List<StudentDetail> studentDetails, Integer chunkSize) {
+    int size = Math.min(Math.max(chunkSize != null ? chunkSize : defaultChunkSize, 1), MAX_CHUNK_SIZE);
+    Integer[] studentIds = new Integer[studentDetails.size()];
+    List<BulkRegistrationError> errors = new ArrayList<>();
+
+    // 入力チェックに通った要素の位置
+    List<Integer> validIndexes = new ArrayList<>();
+    for (int index = 0; index < studentDetails.size(); index++) {
+      String violation = validate(studentDetails.get(index));
+      if (violation == null) {
+        validIndexes.add(index);
+      } else {
+        errors.add(new BulkRegistrationError(index, violation));
+      }
+    }
+
+    for (int from = 0; from < validIndexes.size(); from += size) {
+      List<Integer> chunk = validIndexes.subList(from, Math.min(from + size, validIndexes.size()));
+      try {
+        registerChunk(studentDetails, chunk);
+      } catch (DataAccessException e) {
+        // チャンク全体がロールバックされたので、1件ずつ登録し直して失敗した要素を特定する
+        List<Integer> registered = new ArrayList<>();
+        for (Integer index : chunk) {
+          try {
+            registerChunk(studentDetails, List.of(index));
+            registered.add(index);
+          } catch (DataAccessException ex) {
+            errors.add(new BulkRegistrationError(index, ex.getMostSpecificCause().getMessage()));
+          }
+        }
+        chunk = registered;
+      }
+      chunk.forEach(index -> studentIds[index] = studentDetails.get(index).getStudent().getId());
+    }
+
+    errors.sort(Comparator.comparingInt(BulkRegistrationError::getIndex));
+    int failedCount = errors.size();
+    return new BulkRegistrationResult(studentDetails.size() - failedCount, failedCount,
+        Arrays.asList(studentIds), errors);
+  }
+
+  /**
+   * 指定した位置の受講生詳細を1つのトランザクションで登録します。
+   *
+   * @param studentDetails 受講生詳細のリスト
+   * @param indexes        登録する要素の位置
+   */
+  private void registerChunk(List<StudentDetail> studentDetails, List<Integer> indexes) {
+    transactionTemplate.executeWithoutResult(status -> {
+      List<Student> students = indexes.stream()
+          .map(index -> studentDetails.get(index).getStudent())
+          .toList();
+      // 登録した受講生のバージョン番号は列の既定値の0になる
+      students.forEach(student -> student.setVersion(0));
+      repository.registerStudents(students);
+      students.forEach(student -> studentDetailCache.invalidate(student.getId()));
+      TransactionCallbacks.afterCommit(() -> {
+        students.forEach(student -> {
+          studentSearchIndex.update(student);
+          studentActivityStats.recordRegistration();
+        });
+      });
+
+      List<StudentCourse> studentCourses = new ArrayList<>();
+      indexes.forEach(index -> {
+        StudentDetail studentDetail = studentDetails.get(index);
+        studentCoursesOf(studentDetail).forEach(studentCourse -> {
+          StudentService.initStudentsCourse(studentCourse, studentDetail.getStudent().getId());
+          studentCourses.add(studentCourse);
+        });
+      });
+      if (!studentCourses.isEmpty()) {
+        repository.registerStudentCourses(studentCourses);
+
+        List<CourseStatus> courseStatuses = studentCourses.stream()
+            .map(studentCourse -> new CourseStatus(0, studentCourse.getId(), CourseStatus.Status.仮申込))
+            .toList();
+        repository.registerCourseStatuses(courseStatuses);
+        courseStatusCounter.applyAfterCommit(() -> studentCourses.forEach(studentCourse ->
+            courseStatusCounter.increment(studentCourse.getCourseName(), CourseStatus.Status.仮申込)));
+        TransactionCallbacks.afterCommit(() -> studentCourses.forEach(studentCourse ->
+            studentActivityStats.recordEnrollment(studentCourse.getCourseName())));
+      }
+      studentDocumentStore.refresh(students.stream().map(Student::getId).toList());
+      LocalDateTime now = LocalDateTime.now();
+      repository.registerStudentChangeOutbox(students.stream()
+          .map(student -> new StudentChangeEvent(StudentChangeEvent.Type.受講生登録, student.getId(), null, now))
+          .toList());
+    });
+  }
+
+  /**
+   * 受講生詳細の入力チェックを行います。
+   *
+   * @param studentDetail 受講生詳細
+   * @return エラー内容。問題がない場合はnull
+   */
+  private String validate(StudentDetail studentDetail) {
+    if (studentDetail == null || studentDetail.getStudent() == null) {
+      return "student: 受講生が指定されていません";
+    }
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+
+  private static List<StudentCourse> studentCoursesOf(StudentDetail studentDetail) {
+    return studentDetail.getStudentCourseList() != null
+        ? studentDetail.getStudentCourseList()
+        : Collections.emptyList();
+  }
+}
@@ -0,0 +1,209 @@
+package raisetech.student.management.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import raisetech.student.management.data.StudentChangeEvent;
+import raisetech.student.management.domain.StudentChangeFeedPage;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生・受講生コース・申込状況の変更フィードです。
+ * 変更は書き込みと同じトランザクションで送信待ち（student_change_outbox）に追加され、配信処理が古い順に指定件数ずつ変更フィードへ移して
+ * 配信番号を振ります。配信処理は送信待ちの行ロックを取得してから移すため、複数の配信処理が同時に動いても配信番号は配信した順に増え、
+ * 利用者は前回受け取った最後の配信番号より後の変更を取得するだけで、変更を取りこぼさずに続きから読み進められます。
+ * 新しい変更がない場合は、配信されるか待機時間が過ぎるまで応答を保留します（ロングポーリング）。
+ */
+@Slf4j
+@Component
+public class StudentChangeFeed {
+
+  /**
+   * 1回の取得で返す変更の最大件数
+   */
+  public static final int MAX_LIMIT = 1000;
+
+  /**
+   * 新しい変更を待つ最大時間
+   */
+  public static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+  private final StudentRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final boolean publishEnabled;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * 新しい変更を待っている取得
+   */
+  private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public StudentChangeFeed(StudentRepository repository,
+      PlatformTransactionManager transactionManager,
+      @Value("${student.change-feed.batch-size:500}") int batchSize,
+      @Value("${student.change-feed.publish-enabled:true}") boolean publishEnabled) {
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.publishEnabled = publishEnabled;
+  }
+
+  /**
+   * 設定した間隔で {@link #publish()} を実行します。
+   */
+  @Scheduled(fixedDelayString = "${student.change-feed.publish-interval:PT1S}")
+  public void scheduledPublish() {
+    if (!publishEnabled) {
+      return;
+    }
+    try {
+      publish();
+    } catch (RuntimeException e) {
+      log.error("送信待ちの変更の配信に失敗しました。", e);
+    }
+  }
+
+  /**
+   * 送信待ちの変更を全て変更フィードへ移し、新しい変更を待っている取得に返します。
+   * 送信待ちの読み取り・変更フィードへの追加・送信待ちの削除は、指定件数ごとに1つのトランザクションで行います。
+   * 既に実行中の場合は何もしません。
+   *
+   * @return 配信した件数
+   */
+  public int publish() {
+    if (!running.compareAndSet(false, true)) {
+      return 0;
+    }
+    try {
+      int published = 0;
+      while (true) {
+        List<StudentChangeEvent> events = transactionTemplate.execute(status -> publishBatch());
+        if (events == null || events.isEmpty()) {
+          return published;
+        }
+        published += events.size();
+        notifyWaiters(events);
+        if (events.size() < batchSize) {
+          return published;
+        }
+      }
+    } finally {
+      running.set(false);
+    }
+  }
+
+  /**
+   * 1バッチ分の送信待ちの変更を変更フィードへ移します。
+   *
+   * @return 配信番号を振った変更。送信待ちがない場合は空
+   */
+  private List<StudentChangeEvent> publishBatch() {
+    List<StudentChangeEvent> events = repository.searchStudentChangeOutbox(batchSize);
+    if (events.isEmpty()) {
+      return events;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    events.forEach(event -> event.setPublishedAt(now));
+    repository.registerStudentChangeFeed(events);
+    repository.deleteStudentChangeOutbox(events.stream().map(StudentChangeEvent::getId).toList());
+    return events;
+  }
+
+  /**
+   * 指定した配信番号より後の変更を返します。変更がない場合は待たずに空で返します。
+   *
+   * @param afterOffset 前回受け取った最後の配信番号。最初から取得する場合は0
+   * @param limit       最大件数（1以上、{@value #MAX_LIMIT}以下に丸めます）
+   * @return 変更と、次の取得で指定する配信番号
+   */
+  public StudentChangeFeedPage read(long afterOffset, int limit) {
+    return toPage(afterOffset,
+        repository.searchStudentChangeFeed(afterOffset, Math.min(Math.max(limit, 1), MAX_LIMIT)));
+  }
+
+  /**
+   * 指定した配信番号より後の変更を返します。変更がない場合は、配信されるか待機時間が過ぎるまで応答を保留します。
+   * 待機時間が過ぎた場合は、その時点で変更フィードを検索し直した結果（変更がなければ空）を返します。
+   *
+   * @param afterOffset 前回受け取った最後の配信番号。最初から取得する場合は0
+   * @param limit       最大件数（1以上、{@value #MAX_LIMIT}以下に丸めます）
+   * @param wait        変更がない場合に待つ時間（0以上、{@link #MAX_WAIT}以下に丸めます）
+   * @return 変更と、次の取得で指定する配信番号
+   */
+  public DeferredResult<StudentChangeFeedPage> poll(long afterOffset, int limit, Duration wait) {
+    int pageSize = Math.min(Math.max(limit, 1), MAX_LIMIT);
+    Duration timeout = wait.isNegative() ? Duration.ZERO
+        : wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+
+    DeferredResult<StudentChangeFeedPage> result = new DeferredResult<>(
+        Math.max(timeout.toMillis(), 1));
+    Waiter waiter = new Waiter(afterOffset, pageSize, result);
+    result.onTimeout(() -> result.setResult(read(afterOffset, pageSize)));
+    result.onCompletion(() -> waiters.remove(waiter));
+    // 検索より先に登録し、検索してから登録するまでの間に配信された変更を取りこぼさないようにする
+    waiters.add(waiter);
+    StudentChangeFeedPage page = read(afterOffset, pageSize);
+    if (!page.getEvents().isEmpty() || timeout.isZero()) {
+      result.setResult(page);
+      waiters.remove(waiter);
+    }
+    return result;
+  }
+
+  /**
+   * 配信した変更を、新しい変更を待っている取得に返します。
+   * 配信した変更の直前まで受け取っている取得には配信した変更をそのまま返し、
+   * それより前から待っている取得（他のアプリケーションが配信した変更を受け取っていない場合）には変更フィードを検索し直して返します。
+   *
+   * @param events 配信番号の順の、配信した変更
+   */
+  private void notifyWaiters(List<StudentChangeEvent> events) {
+    long firstOffset = events.get(0).getFeedOffset();
+    for (Waiter waiter : waiters) {
+      if (waiter.result().isSetOrExpired()) {
+        waiters.remove(waiter);
+        continue;
+      }
+      if (waiter.afterOffset() < firstOffset - 1) {
+        waiter.result().setResult(read(waiter.afterOffset(), waiter.limit()));
+        waiters.remove(waiter);
+        continue;
+      }
+      List<StudentChangeEvent> newEvents = events.stream()
+          .filter(event -> event.getFeedOffset() > waiter.afterOffset())
+          .limit(waiter.limit())
+          .toList();
+      if (!newEvents.isEmpty()) {
+        waiter.result().setResult(toPage(waiter.afterOffset(), newEvents));
+        waiters.remove(waiter);
+      }
+    }
+  }
+
+  private static StudentChangeFeedPage toPage(long afterOffset, List<StudentChangeEvent> events) {
+    long nextOffset = events.isEmpty() ? afterOffset : events.get(events.size() - 1).getFeedOffset();
+    return new StudentChangeFeedPage(events, nextOffset);
+  }
+
+  /**
+   * 新しい変更を待っている取得の、受け取った最後の配信番号、最大件数、応答です。
+   */
+  private record Waiter(long afterOffset, int limit,
+                        DeferredResult<StudentChangeFeedPage> result) {
+
+  }
+}
@@ -0,0 +1,97 @@
+package raisetech.student.management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.domain.StudentDetail;
+
+/**
+ * 受講生IDをキーに受講生詳細を保持するキャッシュです。件数の上限と登録後の有効期限で破棄されます。
+ * 受講生や受講生コースを更新する処理は、更新した受講生IDを {@link #invalidate(int)} で破棄してください。
+ * 破棄はその場と、トランザクションのコミット後の2回行います。コミット前に更新前のデータを読み込んだ参照処理がいても、
+ * コミット後の破棄で取り除かれるため、古い受講生詳細がキャッシュに残り続けることはありません。
+ * ヒット数やミス数などの統計情報は cache.* のメトリクス（cache=studentDetail）として公開します。
+ */
+@Component
+public class StudentDetailCache implements MeterBinder {
+
+  private final Cache<Integer, StudentDetail> cache;
+
+  @Autowired
+  public StudentDetailCache(@Value("${student.cache.maximum-size:10000}") long maximumSize,
+      @Value("${student.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+    this(maximumSize, expireAfterWrite, Ticker.systemTicker());
+  }
+
+  StudentDetailCache(long maximumSize, Duration expireAfterWrite, Ticker ticker) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .ticker(ticker)
+        .executor(Runnable::run)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * 受講生詳細を取得します。キャッシュにない場合は読み込み処理で取得してキャッシュします。
+   * 同じ受講生IDの読み込みが同時に要求された場合、読み込みは1回だけ行われます。
+   *
+   * @param studentId 受講生ID
+   * @param loader    受講生詳細の読み込み処理
+   * @return 受講生詳細
+   */
+  public StudentDetail get(int studentId, IntFunction<StudentDetail> loader) {
+    return cache.get(studentId, loader::apply);
+  }
+
+  /**
+   * 受講生IDに紐づく受講生詳細をキャッシュから破棄します。
+   *
+   * @param studentId 受講生ID
+   */
+  public void invalidate(int studentId) {
+    cache.invalidate(studentId);
+    TransactionCallbacks.afterCommit(() -> cache.invalidate(studentId));
+  }
+
+  /**
+   * キャッシュしている全ての受講生詳細を破棄します。
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+    TransactionCallbacks.afterCommit(cache::invalidateAll);
+  }
+
+  /**
+   * ヒット数、ミス数、破棄数などの統計情報を返します。
+   *
+   * @return キャッシュの統計情報
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "studentDetail");
+  }
+
+  /**
+   * キャッシュしている受講生詳細のおおよその件数を返します。
+   *
+   * @return 件数
+   */
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+}
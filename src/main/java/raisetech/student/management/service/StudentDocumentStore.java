@@ -0,0 +1,228 @@
+package raisetech.student.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentDocument;
+import raisetech.student.management.domain.StudentDocumentCheckResult;
+import raisetech.student.management.domain.StudentDocumentRebuildResult;
+import raisetech.student.management.domain.StudentFields;
+import raisetech.student.management.domain.StudentSearchResponse;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生ごとの読み出し用の文書（受講生詳細と受講生コース詳細を統合したJSON）を管理します。
+ * 文書は受講生・受講生コース情報・申込状況を書き込むトランザクションの中で作り直すため、読み出しは受講生IDによる1回の検索で済み、
+ * コミットされた文書は常にテーブルの内容と一致します。
+ * 作り直す際は作成元の行ロックを取得して最新の行を読むため、同じ受講生への書き込みが同時に行われても古い内容で上書きしません。
+ * ただし申込状況の一括変更のように多数の受講生に及ぶ書き込みでは、書き込みのトランザクションで全ての受講生の行ロックを取得しないよう、
+ * コミット後に {@link #refreshAfterCommit(Collection)} で作り直すため、作り直すまでの間は古い文書が読み出されます。
+ * 文書の形式を変えた場合や、テーブルを直接変更した場合は {@link #rebuildAll()} で全件を作り直してください。
+ */
+@Slf4j
+@Component
+public class StudentDocumentStore {
+
+  /**
+   * 1回の検索・登録で扱う受講生の最大件数
+   */
+  public static final int CHUNK_SIZE = 1000;
+
+  /**
+   * 整合性の確認結果に含める、不整合があった受講生IDの最大件数
+   */
+  public static final int MAX_REPORTED_IDS = 100;
+
+  private static final StudentFields ID_ONLY = StudentFields.parse("id");
+
+  private StudentRepository repository;
+  private ObjectMapper objectMapper;
+  private TransactionTemplate transactionTemplate;
+
+  /**
+   * コミット後の作り直しに使う、新しいトランザクションを開始するテンプレート
+   */
+  private TransactionTemplate newTransactionTemplate;
+
+  @Autowired
+  public StudentDocumentStore(StudentRepository repository, ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 受講生文書を返します。文書がまだ作成されていない場合は、テーブルから組み立てた内容を返します（保存はしません）。
+   *
+   * @param studentId 受講生ID
+   * @return 受講生文書（JSON）。受講生が存在しない場合はnull
+   */
+  @Transactional(readOnly = true)
+  public String find(int studentId) {
+    String document = repository.searchStudentDocument(studentId);
+    if (document != null) {
+      return document;
+    }
+    List<StudentSearchResponse> sources = repository.searchStudentDocumentSources(
+        List.of(studentId), false);
+    return sources.isEmpty() ? null : toJson(sources.get(0));
+  }
+
+  /**
+   * 指定した受講生の文書を、テーブルの最新の内容から作り直します。
+   * 受講生・受講生コース情報・申込状況を書き込んだ後に、同じトランザクションの中で呼び出してください。
+   *
+   * @param studentIds 受講生IDのリスト
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void refresh(List<Integer> studentIds) {
+    for (int from = 0; from < studentIds.size(); from += CHUNK_SIZE) {
+      List<Integer> chunk = studentIds.subList(from, Math.min(from + CHUNK_SIZE, studentIds.size()));
+      List<StudentSearchResponse> sources = repository.searchStudentDocumentSources(chunk, true);
+      if (sources.isEmpty()) {
+        continue;
+      }
+      LocalDateTime now = LocalDateTime.now();
+      repository.saveStudentDocuments(sources.stream()
+          .map(source -> new StudentDocument(studentIdOf(source), toJson(source), now))
+          .toList());
+    }
+  }
+
+  /**
+   * 指定した受講生の文書を、実行中のトランザクションのコミット後に作り直します。トランザクション外で呼び出された場合は、その場で作り直します。
+   * {@value #CHUNK_SIZE} 件ずつ受講生IDの順に別のトランザクションで作り直すため、行ロックを保持するのは1回分の受講生だけです。
+   * 作り直しに失敗した場合は書き込みのコミットを取り消せないため、ログに記録します。{@link #rebuildAll()} で作り直してください。
+   *
+   * @param studentIds 受講生IDのリスト
+   */
+  public void refreshAfterCommit(Collection<Integer> studentIds) {
+    List<Integer> sortedIds = new ArrayList<>(new TreeSet<>(studentIds));
+    TransactionCallbacks.afterCommit(() -> {
+      for (int from = 0; from < sortedIds.size(); from += CHUNK_SIZE) {
+        List<Integer> chunk = sortedIds.subList(from, Math.min(from + CHUNK_SIZE, sortedIds.size()));
+        try {
+          newTransactionTemplate.executeWithoutResult(status -> refresh(chunk));
+        } catch (RuntimeException e) {
+          log.error("受講生文書の作り直しに失敗しました。受講生ID={}～{}", chunk.get(0),
+              chunk.get(chunk.size() - 1), e);
+        }
+      }
+    });
+  }
+
+  /**
+   * 全ての受講生の文書を作り直し、受講生が存在しない文書を削除します。
+   * {@value #CHUNK_SIZE} 件ごとに別のトランザクションで作り直すため、作り直している間も文書を読み出せます。
+   *
+   * @return 作り直した件数と削除した件数
+   */
+  public StudentDocumentRebuildResult rebuildAll() {
+    int rebuiltCount = 0;
+    int afterId = 0;
+    while (true) {
+      int from = afterId;
+      List<Integer> studentIds = transactionTemplate.execute(status -> {
+        List<Integer> ids = repository.searchStudentPage(null, from, CHUNK_SIZE, ID_ONLY).stream()
+            .map(Student::getId)
+            .toList();
+        if (!ids.isEmpty()) {
+          refresh(ids);
+        }
+        return ids;
+      });
+      if (studentIds == null || studentIds.isEmpty()) {
+        break;
+      }
+      rebuiltCount += studentIds.size();
+      afterId = studentIds.get(studentIds.size() - 1);
+    }
+    Integer deletedCount = transactionTemplate.execute(
+        status -> repository.deleteOrphanStudentDocuments());
+    return new StudentDocumentRebuildResult(rebuiltCount, deletedCount != null ? deletedCount : 0);
+  }
+
+  /**
+   * 全ての受講生の文書が、テーブルから組み立てた内容と一致しているかを確認します。文書は変更しません。
+   * 1つの読み取り専用トランザクションで確認するため、確認中の書き込みは結果に影響しません。
+   *
+   * @return 確認結果
+   */
+  @Transactional(readOnly = true)
+  public StudentDocumentCheckResult check() {
+    int checkedCount = 0;
+    int missingCount = 0;
+    int staleCount = 0;
+    List<Integer> inconsistentIds = new ArrayList<>();
+    int afterId = 0;
+    while (true) {
+      List<Integer> studentIds = repository.searchStudentPage(null, afterId, CHUNK_SIZE, ID_ONLY)
+          .stream()
+          .map(Student::getId)
+          .toList();
+      if (studentIds.isEmpty()) {
+        break;
+      }
+      Map<Integer, String> stored = new HashMap<>();
+      repository.searchStudentDocuments(studentIds)
+          .forEach(document -> stored.put(document.getStudentId(), document.getDocument()));
+      for (StudentSearchResponse source : repository.searchStudentDocumentSources(studentIds, false)) {
+        int studentId = studentIdOf(source);
+        String document = stored.get(studentId);
+        if (document == null) {
+          missingCount++;
+        } else if (!document.equals(toJson(source))) {
+          staleCount++;
+        } else {
+          continue;
+        }
+        if (inconsistentIds.size() < MAX_REPORTED_IDS) {
+          inconsistentIds.add(studentId);
+        }
+      }
+      checkedCount += studentIds.size();
+      afterId = studentIds.get(studentIds.size() - 1);
+    }
+
+    List<Integer> orphanIds = repository.searchOrphanStudentDocumentIds();
+    for (Integer orphanId : orphanIds) {
+      if (inconsistentIds.size() >= MAX_REPORTED_IDS) {
+        break;
+      }
+      inconsistentIds.add(orphanId);
+    }
+    return new StudentDocumentCheckResult(checkedCount, missingCount, staleCount,
+        orphanIds.size(), inconsistentIds);
+  }
+
+  private static int studentIdOf(StudentSearchResponse source) {
+    return source.getStudentDetail().getStudent().getId();
+  }
+
+  private String toJson(StudentSearchResponse source) {
+    try {
+      return objectMapper.writeValueAsString(source);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
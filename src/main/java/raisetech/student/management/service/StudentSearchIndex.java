@@ -0,0 +1,328 @@
+package raisetech.student.management.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.controller.converter.IntKeyMap;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.util.KanaNormalizer;
+
+/**
+ * 受講生の名前・フリガナ・居住地域の部分一致検索に使う、2文字単位（bigram）の転置インデックスです。
+ * フリガナは正規化した検索キー（{@link Student#getFuriganaKey()}）で登録するため、検索条件も正規化して指定してください。
+ * 登録する値と検索文字列はどちらも {@link KanaNormalizer#fold(String)} で変換してから比較し、
+ * LIKE検索（照合順序 utf8mb4_0900_ai_ci）と同じく大文字・小文字、全角・半角、ひらがな・カタカナ、アクセントの違いを区別しません。
+ * 検索文字列に含まれる全ての2文字の組を持つ受講生IDを絞り込み、実際の値に検索文字列が含まれるかを確かめてから返します。
+ * 起動時に {@link #rebuild(Iterable)} で全件から作成し、その後は受講生の登録・更新のコミット後に {@link #update(Student)} で反映します。
+ * 他のインスタンスでの登録・更新は、{@link StudentSearchIndexRefresher} が変更フィードから遅れて反映します。
+ * コミット後の反映は同じ受講生でもコミットした順に実行されるとは限らないため、反映済みよりバージョン番号が古い受講生は反映しません。
+ * 作成が終わるまでの間と、インデックスでは絞り込めない条件の場合は、呼び出し元でLIKE検索にフォールバックしてください。
+ */
+@Component
+public class StudentSearchIndex {
+
+  /**
+   * 検索結果として返す受講生IDの上限。これを超える場合はインデックスで絞り込めないものとして扱います。
+   */
+  public static final int MAX_CANDIDATES = 1000;
+
+  private static final int NAME = 0;
+  private static final int FURIGANA = 1;
+  private static final int CITY = 2;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * 項目ごとの、2文字の組から受講生IDの昇順リストへの索引
+   */
+  private final List<Map<String, Postings>> indexes =
+      List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+  /**
+   * 受講生IDごとの、インデックスに登録済みのバージョン番号と値（名前・フリガナ・居住地域）
+   */
+  private final IntKeyMap<Document> documents = new IntKeyMap<>();
+
+  /**
+   * 作成中に更新された受講生ID。作成で読み込んだ古い値で上書きしないために使います。
+   */
+  private final Set<Integer> updatedWhileRebuilding = new HashSet<>();
+
+  private boolean rebuilding;
+  private volatile boolean ready;
+
+  /**
+   * 全ての受講生からインデックスを作成します。作成中に {@link #update(Student)} で反映された受講生は、読み込んだ値で上書きしません。
+   *
+   * @param students 全ての受講生
+   */
+  public void rebuild(Iterable<Student> students) {
+    lock.writeLock().lock();
+    try {
+      rebuilding = true;
+      updatedWhileRebuilding.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    try {
+      for (Student student : students) {
+        lock.writeLock().lock();
+        try {
+          if (!updatedWhileRebuilding.contains(student.getId())) {
+            index(student);
+          }
+        } finally {
+          lock.writeLock().unlock();
+        }
+      }
+      ready = true;
+    } finally {
+      lock.writeLock().lock();
+      try {
+        rebuilding = false;
+        updatedWhileRebuilding.clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * 登録・更新された受講生をインデックスに反映します。反映済みの値よりバージョン番号が古い場合は反映しません。
+   *
+   * @param student 受講生（バージョン番号はコミットした時点の値）
+   */
+  public void update(Student student) {
+    lock.writeLock().lock();
+    try {
+      index(student);
+      if (rebuilding) {
+        updatedWhileRebuilding.add(student.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 名前・フリガナ・居住地域の部分一致条件に合う受講生IDを検索します。nullや空文字の条件は指定なしとして扱います。
+   * 次の場合はインデックスでは絞り込めないため、空のOptionalを返します。
+   * <ul>
+   *   <li>インデックスの作成が終わっていない</li>
+   *   <li>部分一致の条件が1つも指定されていない、または1文字の条件がある</li>
+   *   <li>条件に合う受講生が {@value #MAX_CANDIDATES} 人を超える</li>
+   * </ul>
+   *
+   * @param name     名前
+   * @param furigana フリガナの検索キー（KanaNormalizerで正規化した値）
+   * @param city     居住地域
+   * @return 条件に合う受講生IDの昇順リスト
+   */
+  public Optional<List<Integer>> search(String name, String furigana, String city) {
+    String[] queries = {KanaNormalizer.fold(name), KanaNormalizer.fold(furigana),
+        KanaNormalizer.fold(city)};
+    boolean hasQuery = false;
+    for (String query : queries) {
+      if (query != null && !query.isEmpty()) {
+        if (query.length() < 2) {
+          return Optional.empty();
+        }
+        hasQuery = true;
+      }
+    }
+    if (!ready || !hasQuery) {
+      return Optional.empty();
+    }
+
+    lock.readLock().lock();
+    try {
+      int[] candidates = null;
+      for (int field = NAME; field <= CITY; field++) {
+        if (queries[field] != null && !queries[field].isEmpty()) {
+          int[] matched = lookup(field, queries[field]);
+          candidates = candidates == null
+              ? matched : intersect(candidates, matched, matched.length);
+          if (candidates.length == 0) {
+            return Optional.of(List.of());
+          }
+        }
+      }
+
+      List<Integer> studentIds = new ArrayList<>();
+      for (int studentId : candidates) {
+        if (matches(documents.get(studentId).values(), queries)) {
+          if (studentIds.size() == MAX_CANDIDATES) {
+            return Optional.empty();
+          }
+          studentIds.add(studentId);
+        }
+      }
+      return Optional.of(studentIds);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * インデックスの作成が終わっているかを返します。
+   *
+   * @return 作成が終わっている場合はtrue
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  private void index(Student student) {
+    Document current = documents.get(student.getId());
+    if (current != null && current.version() > student.getVersion()) {
+      return;
+    }
+    String[] values = {KanaNormalizer.fold(student.getName()),
+        KanaNormalizer.fold(student.getFuriganaKey()), KanaNormalizer.fold(student.getCity())};
+    documents.put(student.getId(), new Document(student.getVersion(), values));
+    String[] previous = current != null ? current.values() : null;
+    for (int field = NAME; field <= CITY; field++) {
+      Set<String> oldBigrams = bigrams(previous != null ? previous[field] : null);
+      Set<String> newBigrams = bigrams(values[field]);
+      Map<String, Postings> index = indexes.get(field);
+      for (String bigram : oldBigrams) {
+        if (!newBigrams.contains(bigram)) {
+          Postings postings = index.get(bigram);
+          postings.remove(student.getId());
+          if (postings.size == 0) {
+            index.remove(bigram);
+          }
+        }
+      }
+      for (String bigram : newBigrams) {
+        if (!oldBigrams.contains(bigram)) {
+          index.computeIfAbsent(bigram, key -> new Postings()).add(student.getId());
+        }
+      }
+    }
+  }
+
+  /**
+   * 検索文字列の全ての2文字の組を含む受講生IDを、件数の少ないリストから順に突き合わせて返します。
+   */
+  private int[] lookup(int field, String query) {
+    Map<String, Postings> index = indexes.get(field);
+    List<Postings> postingsList = new ArrayList<>();
+    for (String bigram : bigrams(query)) {
+      Postings postings = index.get(bigram);
+      if (postings == null) {
+        return new int[0];
+      }
+      postingsList.add(postings);
+    }
+    postingsList.sort((a, b) -> Integer.compare(a.size, b.size));
+
+    int[] result = postingsList.get(0).toArray();
+    for (int i = 1; i < postingsList.size() && result.length > 0; i++) {
+      Postings postings = postingsList.get(i);
+      result = intersect(result, postings.ids, postings.size);
+    }
+    return result;
+  }
+
+  private static boolean matches(String[] values, String[] queries) {
+    for (int field = NAME; field <= CITY; field++) {
+      String query = queries[field];
+      if (query != null && !query.isEmpty()
+          && (values[field] == null || !values[field].contains(query))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static Set<String> bigrams(String value) {
+    if (value == null || value.length() < 2) {
+      return Set.of();
+    }
+    Set<String> bigrams = new HashSet<>();
+    for (int i = 0; i + 2 <= value.length(); i++) {
+      bigrams.add(value.substring(i, i + 2));
+    }
+    return bigrams;
+  }
+
+  /**
+   * 昇順の受講生IDの配列aと、配列bの先頭bSize件の両方に含まれる受講生IDを返します。
+   */
+  private static int[] intersect(int[] a, int[] b, int bSize) {
+    int[] result = new int[Math.min(a.length, bSize)];
+    int size = 0;
+    for (int i = 0, j = 0; i < a.length && j < bSize; ) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[size++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  /**
+   * インデックスに登録済みの受講生のバージョン番号と、変換済みの名前・フリガナ・居住地域です。
+   */
+  private record Document(int version, String[] values) {
+
+  }
+
+  /**
+   * 受講生IDを昇順に保持するリストです。受講生IDは登録順に増えるため、追加はほとんどの場合末尾への追加になります。
+   */
+  private static final class Postings {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+      if (size == 0 || ids[size - 1] < id) {
+        ensureCapacity();
+        ids[size++] = id;
+        return;
+      }
+      int index = Arrays.binarySearch(ids, 0, size, id);
+      if (index >= 0) {
+        return;
+      }
+      int insertion = -index - 1;
+      ensureCapacity();
+      System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+      ids[insertion] = id;
+      size++;
+    }
+
+    void remove(int id) {
+      int index = Arrays.binarySearch(ids, 0, size, id);
+      if (index >= 0) {
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+      }
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package raisetech.student.management.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
+import raisetech.student.management.repository.StudentRepository;
+
+/**
+ * 受講生検索インデックスの作成と、変更フィードからの更新を行います。
+ * 受講生の登録・更新は、その処理を行ったインスタンスのコミット後にだけ検索インデックスへ反映されるため、
+ * 複数のインスタンスで動かす場合は他のインスタンスでの変更を変更フィードから読み進めて反映します。
+ * 他のインスタンスでの変更は、変更フィードの配信間隔と更新間隔を合わせた時間だけ遅れて反映されます。
+ * 遅れている間は、変更で条件に合うようになった受講生が検索インデックスで絞り込んだ結果に含まれないことがありますが、
+ * 絞り込んだ受講生には検索で部分一致の条件を確かめ直すため、条件に合わない受講生を返すことはありません。
+ */
+@Slf4j
+@Component
+public class StudentSearchIndexRefresher {
+
+  /**
+   * 1回に読み出す変更の件数
+   */
+  static final int BATCH_SIZE = StudentChangeFeed.MAX_LIMIT;
+
+  private final StudentRepository repository;
+  private final StudentSearchIndex studentSearchIndex;
+  private final boolean refreshEnabled;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * 検索インデックスに反映済みの配信番号。作成が終わるまでは-1
+   */
+  private volatile long feedOffset = -1;
+
+  @Autowired
+  public StudentSearchIndexRefresher(StudentRepository repository,
+      StudentSearchIndex studentSearchIndex,
+      @Value("${student.search-index.refresh-enabled:true}") boolean refreshEnabled) {
+    this.repository = repository;
+    this.studentSearchIndex = studentSearchIndex;
+    this.refreshEnabled = refreshEnabled;
+  }
+
+  /**
+   * 全ての受講生から検索インデックスを作成します。起動完了時に実行し、作成が終わるまでの検索はLIKE検索で行います。
+   * 最新の配信番号を全件の読み出しと同じトランザクションで先に読み、それより後の変更を {@link #refresh()} で反映します。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long latestOffset = repository.searchLatestStudentChangeFeedOffset();
+    try (Cursor<Student> students = repository.searchStudentCursor()) {
+      studentSearchIndex.rebuild(students);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    feedOffset = latestOffset;
+  }
+
+  /**
+   * 設定した間隔で {@link #refresh()} を実行します。
+   */
+  @Scheduled(fixedDelayString = "${student.search-index.refresh-interval:PT1S}")
+  public void scheduledRefresh() {
+    if (!refreshEnabled) {
+      return;
+    }
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      log.error("変更フィードからの検索インデックスの更新に失敗しました。", e);
+    }
+  }
+
+  /**
+   * 反映済みの配信番号より後の変更を読み進め、受講生の登録・更新があった受講生を読み直して検索インデックスに反映します。
+   * 反映済みよりバージョン番号が古い受講生は検索インデックスが反映しないため、このインスタンスで反映済みの変更を読んでも問題ありません。
+   * 検索インデックスの作成が終わっていない場合と、既に実行中の場合は何もしません。
+   *
+   * @return 読み直した受講生の件数
+   */
+  public int refresh() {
+    if (feedOffset < 0 || !running.compareAndSet(false, true)) {
+      return 0;
+    }
+    try {
+      int refreshed = 0;
+      while (true) {
+        List<StudentChangeEvent> events = repository.searchStudentChangeFeed(feedOffset, BATCH_SIZE);
+        if (events.isEmpty()) {
+          return refreshed;
+        }
+        List<Integer> studentIds = events.stream()
+            .filter(event -> event.getEventType() != StudentChangeEvent.Type.申込状況変更)
+            .map(StudentChangeEvent::getStudentId)
+            .distinct()
+            .toList();
+        if (!studentIds.isEmpty()) {
+          List<Student> students = repository.searchStudentsByIds(studentIds);
+          students.forEach(studentSearchIndex::update);
+          refreshed += students.size();
+        }
+        feedOffset = events.get(events.size() - 1).getFeedOffset();
+        if (events.size() < BATCH_SIZE) {
+          return refreshed;
+        }
+      }
+    } finally {
+      running.set(false);
+    }
+  }
+}
@@ -1,9 +1,17 @@
 package raisetech.student.management.service;
 
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.ibatis.cursor.Cursor;
 import org.springdoc.api.OpenApiResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,43 +19,116 @@ import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.controller.converter.CourseConverter;
 import raisetech.student.management.controller.converter.StudentConverter;
 import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatusCount;
 import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
 import raisetech.student.management.data.StudentCourse;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.CourseStatusTransitionResult;
 import raisetech.student.management.domain.StudentSearchResponse;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.StudentFields;
+import raisetech.student.management.exception.InvalidCourseStatusTransitionException;
+import raisetech.student.management.exception.InvalidCursorException;
+import raisetech.student.management.exception.UpdateConflictException;
 import raisetech.student.management.repository.StudentRepository;
+import raisetech.student.management.util.KanaNormalizer;
 
 
 /**
  * 受講生情報を取り扱うサービスです。 受講生の検索や登録、更新処理を行います。
  */
+@Timed("student.service")
 @Service
 public class StudentService {
 
+  /**
+   * 一覧検索の1ページの最大件数
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * 申込状況の一括変更で、1回のSQLのIN句に指定する受講生コースIDの最大件数
+   */
+  public static final int TRANSITION_CHUNK_SIZE = 1000;
+
   private StudentRepository repository;
   private StudentConverter studentConverter;
   private CourseConverter courseConverter;
+  private StudentDetailCache studentDetailCache;
+  private StudentSearchIndex studentSearchIndex;
+  private CourseStatusCounter courseStatusCounter;
+  private StudentActivityStats studentActivityStats;
+  private StudentDocumentStore studentDocumentStore;
+  private ParallelReads parallelReads;
 
   @Autowired
   public StudentService(StudentRepository repository, StudentConverter studentConverter,
-      CourseConverter courseConverter) {
+      CourseConverter courseConverter, StudentDetailCache studentDetailCache,
+      StudentSearchIndex studentSearchIndex, CourseStatusCounter courseStatusCounter,
+      StudentActivityStats studentActivityStats, StudentDocumentStore studentDocumentStore,
+      ParallelReads parallelReads) {
     this.repository = repository;
     this.studentConverter = studentConverter;
     this.courseConverter = courseConverter;
+    this.studentDetailCache = studentDetailCache;
+    this.studentSearchIndex = studentSearchIndex;
+    this.courseStatusCounter = courseStatusCounter;
+    this.studentActivityStats = studentActivityStats;
+    this.studentDocumentStore = studentDocumentStore;
+    this.parallelReads = parallelReads;
   }
 
   /**
-   * 受講生詳細一覧検索です。全件検索を行い、フィルタリングも行います。
+   * 受講生詳細の一覧をページ単位で検索します。受講生IDをキーにしたキーセットページングで、1ページ分の受講生と
+   * そのページの受講生に紐づく受講生コース情報のみを取得するため、1回の検索で扱う件数は最大件数で抑えられます。
    *
-   * @param deleted 削除済みフラグ
-   * @return 受講生詳細一覧（全件）
+   * @param deleted 削除済みフラグ。nullの場合は削除済みかどうかで絞り込みません。続きのページも同じ値を指定してください。
+   * @param cursor  前のページで返されたカーソル。nullの場合は先頭ページを検索します。
+   * @param size    1ページの最大件数（1以上、{@value #MAX_PAGE_SIZE}以下に丸めます）
+   * @param fields  読み出す受講生の項目。nullの場合は全ての項目を読み出します。
+   * @return 受講生詳細一覧と次のページのカーソル
    */
-  public List<StudentDetail> searchStudentList(Boolean deleted) {
-    List<Student> studentList = repository.search();
-    List<StudentCourse> studentCourseList = repository.searchStudentCourseList();
+  public StudentDetailPage searchStudentPage(Boolean deleted, String cursor, int size,
+      StudentFields fields) {
+    int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    // 次のページの有無を判定するため、1件多く取得する
+    List<Student> studentList = repository.searchStudentPage(deleted, decodeCursor(cursor),
+        pageSize + 1, fields);
+    if (studentList.isEmpty()) {
+      return new StudentDetailPage(new ArrayList<>(), null);
+    }
+
+    String nextCursor = null;
+    if (studentList.size() > pageSize) {
+      studentList = studentList.subList(0, pageSize);
+      nextCursor = encodeCursor(studentList.get(pageSize - 1).getId());
+    }
+
+    List<Integer> studentIds = studentList.stream().map(Student::getId).toList();
+    List<StudentCourse> studentCourseList = repository.searchStudentCoursesByStudentIds(studentIds);
+
+    return new StudentDetailPage(
+        studentConverter.convertStudentDetails(studentList, studentCourseList), nextCursor);
+  }
 
-    return studentConverter.convertStudentDetails(studentList, studentCourseList);
+  /**
+   * 全ての受講生詳細を受講生ID順に1件ずつ組み立てて渡します。
+   * 受講生と受講生コース情報をカーソルで読み進めながら突き合わせるため、件数によらずメモリ使用量は一定です。
+   *
+   * @param consumer 組み立てた受講生詳細を受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void exportStudentDetails(Consumer<StudentDetail> consumer) {
+    try (Cursor<Student> students = repository.searchStudentCursor();
+        Cursor<StudentCourse> studentCourses = repository.searchStudentCourseCursor()) {
+      studentConverter.convertSortedStudentDetails(students, studentCourses, consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
@@ -63,57 +144,90 @@ public class StudentService {
   }
 
   /**
-   * 受講生詳細検索です。 IDに紐づく受講生情報を取得したあと、その受講生に紐づく受講生コース情報を取得して設定します。
+   * 受講生詳細検索です。 キャッシュにない場合は、IDに紐づく受講生情報を取得したあと、その受講生に紐づく受講生コース情報を取得して設定します。
    *
    * @param id 　受講生ID
    * @return 受講生詳細
    */
   public StudentDetail searchStudent(int id) {
-    Student student = repository.searchStudent(id);
-    if (student == null) {
-      throw new OpenApiResourceNotFoundException("Student with id " + id + " not found");
+    return studentDetailCache.get(id, this::loadStudent);
+  }
+
+  /**
+   * 受講生詳細のETagを返します。受講生と受講生コース情報のバージョン番号から作るため、
+   * 受講生詳細を組み立て直したりJSONに変換したりせずに、内容が変わったかどうかを判定できます。
+   *
+   * @param studentDetail 受講生詳細
+   * @return ETag（ダブルクォートで囲んだ値）
+   */
+  public String getStudentETag(StudentDetail studentDetail) {
+    Student student = studentDetail.getStudent();
+    // バージョン番号は更新のたびに増えるだけなので、合計が同じなら受講生コース情報も変わっていない
+    long courseVersions = 0;
+    for (StudentCourse studentCourse : studentDetail.getStudentCourseList()) {
+      courseVersions += studentCourse.getVersion();
     }
-    List<StudentCourse> studentCourses = repository.searchStudentCoursesByStudentId(
-        student.getId());
-    return studentConverter.convertToStudentDetail(student, studentCourses);
+    return "\"student-" + student.getId() + "-" + student.getVersion() + "-"
+        + studentDetail.getStudentCourseList().size() + "-" + courseVersions + "\"";
+  }
+
+  /**
+   * コース情報の一覧のETagを返します。一覧を組み立てずに、書き込みと同じトランザクションで記録する変更の送信待ちと変更フィードの
+   * 主キーの最大値から作るため、集計の問い合わせは行いません。送信待ちを記録しないSQLで直接行われた変更は反映されません。
+   * 一覧を検索する前に取得してください（検索の後に取得すると、検索後の変更を含まない一覧に新しいETagが付く場合があります）。
+   *
+   * @return ETag（ダブルクォートで囲んだ値）
+   */
+  public String getCourseListETag() {
+    return "\"courses-" + repository.searchCourseListVersion() + "\"";
+  }
+
+  /**
+   * IDに紐づく受講生情報と受講生コース情報をデータベースから取得して受講生詳細を組み立てます。
+   * 受講生コース情報は受講生IDだけで検索でき、受講生の検索結果に依存しないため、2つの検索は並行して実行します。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細
+   */
+  private StudentDetail loadStudent(int id) {
+    return parallelReads.join(
+        () -> repository.searchStudent(id),
+        () -> repository.searchStudentCoursesByStudentId(id),
+        (student, studentCourses) -> {
+          if (student == null) {
+            throw new OpenApiResourceNotFoundException("Student with id " + id + " not found");
+          }
+          return studentConverter.convertToStudentDetail(student, studentCourses);
+        });
   }
 
   /**
    * 条件に一致する受講生とそのコース詳細および申込状況を統合した詳細情報を検索します。
    * このメソッドは、指定された受講生の条件（名前、ふりがな、都市、年齢、性別）およびコースに関する条件（コース名、申込状況）に基づいて、受講生とそのコース詳細を検索します。
-   * その後、受講生情報とコース情報を統合し、統合された詳細情報をリストとして返します。
+   * 受講生・受講生コース・申込状況の結合と絞り込みはすべてデータベース側で1回の問い合わせとして行います。
+   * 名前・ふりがな・都市の部分一致は、検索インデックスで受講生IDを絞り込めた場合は受講生IDで検索し、部分一致の条件はその中で確かめ直します。
+   * ふりがなはひらがな・カタカナ、全角・半角の違いを区別せず、正規化した検索キー同士で比較します。
    *
    * @param name       受講生の名前。条件に一致する受講生を検索します（部分一致）。
    * @param furigana   受講生のふりがな。条件に一致する受講生を検索します（部分一致）。
    * @param city       受講生の都市。条件に一致する受講生を検索します（部分一致）。
    * @param age        受講生の年齢。条件に一致する受講生を検索します。
    * @param gender     受講生の性別。条件に一致する受講生を検索します（"male" または "female"）。
-   * @param courseName コース名。条件に一致するコースを検索します（部分一致）。
+   * @param courseName コース名。条件に一致するコースを検索します。
    * @param status     コース申込状況。条件に一致する申込状況を検索します（"仮申込"、"本申込"、"受講中"、"受講終了"）。
+   * @param fields     読み出す受講生の項目。nullの場合は全ての項目を読み出します。
    * @return 条件に一致する受講生およびそのコース詳細を統合した詳細情報のリスト。 統合された詳細は、受講生情報とそのコース情報が含まれます。
    */
   public List<StudentSearchResponse> searchIntegratedDetails(String name, String furigana, String city,
-      Integer age, String gender, String courseName, CourseStatus.Status status) {
-    // 条件に一致する受講生を検索
-    List<Student> students = repository.findStudentsByConditions(name, furigana, city, age, gender);
-
-    // 条件に一致する受講生コースと申込状況を検索
-    List<StudentCourse> studentCourses = repository.findCoursesByConditions(courseName);
-    List<CourseStatus> courseStatuses = repository.findCourseStatusByConditions(status);
-
-    // 受講生詳細を作成
-    List<StudentDetail> studentDetails = studentConverter.convertStudentDetails(students,
-        studentCourses);
-
-    // 統合された詳細を作成
-    return studentDetails.stream()
-        .map(detail -> {
-          List<StudentCourse> courses = detail.getStudentCourseList();
-          List<CourseDetail> courseDetails = courseConverter.convertToCourseDetails(courses,
-              courseStatuses);
-          return new StudentSearchResponse(detail, courseDetails);
-        })
-        .collect(Collectors.toList());
+      Integer age, String gender, String courseName, CourseStatus.Status status,
+      StudentFields fields) {
+    String furiganaKey = KanaNormalizer.normalize(furigana);
+    List<Integer> candidateIds = studentSearchIndex.search(name, furiganaKey, city).orElse(null);
+    if (candidateIds != null && candidateIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return repository.searchIntegratedDetails(name, furiganaKey, city, age, gender, courseName,
+        status, candidateIds, fields);
   }
 
   /**
@@ -125,7 +239,8 @@ public class StudentService {
   @Transactional
   public StudentSearchResponse registerStudent(StudentDetail studentDetail) {
     Student student = studentDetail.getStudent();
-    repository.updateStudent(student);
+    // 登録した受講生のバージョン番号は列の既定値の0になる
+    student.setVersion(0);
 
     List<CourseDetail> courseDetails = new ArrayList<>();
     repository.registerStudent(student);
@@ -137,7 +252,7 @@ public class StudentService {
       CourseStatus courseStatus = new CourseStatus(0, studentCourses.getId(),
           CourseStatus.Status.仮申込);
 
-      registerCourseStatus(courseStatus);
+      registerCourseStatus(courseStatus, studentCourses.getCourseName());
 
       CourseDetail courseDetail = new CourseDetail();
       courseDetail.setStudentCourse(studentCourses);
@@ -145,6 +260,15 @@ public class StudentService {
       courseDetails.add(courseDetail);
     });
 
+    studentDocumentStore.refresh(List.of(student.getId()));
+    recordStudentChange(StudentChangeEvent.Type.受講生登録, student.getId(), null);
+    studentDetailCache.invalidate(student.getId());
+    TransactionCallbacks.afterCommit(() -> {
+      studentSearchIndex.update(student);
+      studentActivityStats.recordRegistration();
+      courseDetails.forEach(courseDetail ->
+          studentActivityStats.recordEnrollment(courseDetail.getStudentCourse().getCourseName()));
+    });
     return new StudentSearchResponse(studentDetail, courseDetails);
   }
 
@@ -156,20 +280,53 @@ public class StudentService {
    */
   @Transactional
   public void registerCourseStatus(CourseStatus courseStatus) {
+    StudentCourse studentCourse = repository.searchStudentCourseByCourseId(courseStatus.getCourseId());
+    registerCourseStatus(courseStatus, studentCourse != null ? studentCourse.getCourseName() : null);
+    if (studentCourse != null) {
+      studentDocumentStore.refresh(List.of(studentCourse.getStudentId()));
+      recordStudentChange(StudentChangeEvent.Type.申込状況変更, studentCourse.getStudentId(),
+          studentCourse.getId());
+    }
+  }
+
+  /**
+   * コース申込状況を登録し、コミット後に申込状況の件数に反映します。
+   *
+   * @param courseStatus コース申込状況
+   * @param courseName   コース名。nullの場合は件数に反映しません。
+   */
+  private void registerCourseStatus(CourseStatus courseStatus, String courseName) {
     // StudentRepositoryのregisterCourseStatusメソッドを呼び出してデータベースに登録
     repository.registerCourseStatus(courseStatus);
+    if (courseName != null) {
+      courseStatusCounter.applyAfterCommit(
+          () -> courseStatusCounter.increment(courseName, courseStatus.getStatus()));
+    }
   }
 
   /**
-   * すべてのコース情報を取得します。
+   * コース名ごとの申込状況の件数を取得します。データベースは検索せず、メモリ上の集計から返します。
    *
-   * @return コース詳細情報一覧
+   * @return コース名ごとの申込状況の件数（コース名の昇順）
    */
-  public List<CourseDetail> getAllCourses() {
-    List<StudentCourse> studentCourses = repository.searchStudentCourseList();
-    List<CourseStatus> courseStatuses = repository.searchCourseStatusList();
+  public List<CourseStatusSummary> getCourseStatusSummary() {
+    return courseStatusCounter.summarize();
+  }
 
-    return courseConverter.convertToCourseDetails(studentCourses, courseStatuses);
+  /**
+   * 全てのコース詳細を受講生コースID順に1件ずつ組み立てて渡します。
+   * 受講生コース情報とコース申込状況をカーソルで読み進めながら突き合わせるため、件数によらずメモリ使用量は一定です。
+   *
+   * @param consumer 組み立てたコース詳細を受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void exportCourseDetails(Consumer<CourseDetail> consumer) {
+    try (Cursor<StudentCourse> studentCourses = repository.searchStudentCourseCursorById();
+        Cursor<CourseStatus> courseStatuses = repository.searchCourseStatusCursor()) {
+      courseConverter.convertSortedCourseDetails(studentCourses, courseStatuses, consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
@@ -199,13 +356,42 @@ public class StudentService {
   }
 
 
+  /**
+   * ページの最後の受講生IDをカーソル文字列に変換します。
+   *
+   * @param lastStudentId ページの最後の受講生ID
+   * @return カーソル
+   */
+  private String encodeCursor(int lastStudentId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(Integer.toString(lastStudentId).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * カーソル文字列を受講生IDに戻します。
+   *
+   * @param cursor カーソル
+   * @return カーソルが示す受講生ID。カーソルが指定されていない場合はnull
+   * @throws InvalidCursorException カーソルとして解釈できない場合
+   */
+  private Integer decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("無効なカーソルです: " + cursor, e);
+    }
+  }
+
   /**
    * 受講生コース情報の初期設定を行います。
    *
    * @param studentCourse 受講生コース情報
    * @param studentId     受講生ID
    */
-  private void initStudentsCourse(StudentCourse studentCourse, int studentId) {
+  static void initStudentsCourse(StudentCourse studentCourse, int studentId) {
     LocalDateTime now = LocalDateTime.now();
 
     studentCourse.setStudentId(studentId);     // 受講生IDの設定
@@ -215,24 +401,173 @@ public class StudentService {
 
   /**
    * 受講生詳細の更新を行います。受講生と受講生コース情報をそれぞれ更新します。
+   * 受講生と受講生コース情報はバージョン番号が検索した時点の値と一致する場合のみ更新し、
+   * 1件でも他の更新と競合した場合は全ての更新を取り消します。
    *
    * @param studentDetail 受講生詳細
+   * @throws UpdateConflictException 受講生または受講生コース情報が、検索した後に他の更新で変更されていた場合
    */
   @Transactional
   // 受講生情報の更新
   public void updateStudent(StudentDetail studentDetail) {
-    repository.updateStudent(studentDetail.getStudent());
-    studentDetail.getStudentCourseList()
-        .forEach(studentsCourse -> repository.updateStudentCourse(studentsCourse));
+    Student student = studentDetail.getStudent();
+    if (repository.updateStudent(student) == 0) {
+      throw new UpdateConflictException("受講生（ID: " + student.getId()
+          + "）は他の更新で変更されたか、存在しません。最新の情報を取得してから更新してください。");
+    }
+    // コミット後に検索インデックスへ反映する際、他の更新との新旧を比較できるよう更新後のバージョン番号にしておく
+    student.setVersion(student.getVersion() + 1);
+    studentDetail.getStudentCourseList().forEach(studentsCourse -> {
+      updateCourseNameCount(studentsCourse);
+      if (repository.updateStudentCourse(studentsCourse) == 0) {
+        throw new UpdateConflictException("受講生コース（ID: " + studentsCourse.getId()
+            + "）は他の更新で変更されたか、存在しません。最新の情報を取得してから更新してください。");
+      }
+    });
+    studentDocumentStore.refresh(List.of(student.getId()));
+    recordStudentChange(StudentChangeEvent.Type.受講生更新, student.getId(), null);
+    studentDetailCache.invalidate(studentDetail.getStudent().getId());
+    TransactionCallbacks.afterCommit(() -> studentSearchIndex.update(studentDetail.getStudent()));
   }
 
   /**
-   * コース申込状況の更新
+   * コース申込状況の更新です。バージョン番号が検索した時点の値と一致する場合のみ更新します。
+   * 行ロックは取得せず、同じ申込状況を同時に更新した場合は、先に更新した方だけが成功します。
    *
    * @param courseStatus コース申込状況
+   * @throws UpdateConflictException 申込状況が、検索した後に他の更新で変更されていた場合
    */
   @Transactional
   public void updateCourseStatus(CourseStatus courseStatus) throws Exception {
-    repository.updateCourseStatus(courseStatus);
+    // 変更前の申込状況を件数に反映するため、指定されたバージョン番号の申込状況を読み取っておく。
+    // 読み取った後に変更されていれば更新は0件になるため、更新できた場合は読み取った値が変更前の申込状況になる
+    CourseStatus previous = repository.searchCourseStatus(courseStatus.getCourseId());
+    if (previous == null || previous.getVersion() != courseStatus.getVersion()
+        || repository.updateCourseStatus(courseStatus) == 0) {
+      throw new UpdateConflictException("申込状況（コースID: " + courseStatus.getCourseId()
+          + "）は他の更新で変更されたか、存在しません。最新の情報を取得してから更新してください。");
+    }
+    StudentCourse studentCourse = repository.searchStudentCourseByCourseId(courseStatus.getCourseId());
+    if (studentCourse != null) {
+      studentDocumentStore.refresh(List.of(studentCourse.getStudentId()));
+      recordStudentChange(StudentChangeEvent.Type.申込状況変更, studentCourse.getStudentId(),
+          studentCourse.getId());
+      studentDetailCache.invalidate(studentCourse.getStudentId());
+      courseStatusCounter.applyAfterCommit(() -> {
+        courseStatusCounter.changeStatus(
+            studentCourse.getCourseName(), previous.getStatus(), courseStatus.getStatus());
+        // コース名の変更が並行してコミットされ、読み取ったコース名が古かった場合は件数の作り直しを予約する
+        StudentCourse committed = repository.searchStudentCourseByCourseId(courseStatus.getCourseId());
+        if (committed == null || !committed.getCourseName().equals(studentCourse.getCourseName())) {
+          courseStatusCounter.markStale();
+        }
+      });
+      if (previous.getStatus() != courseStatus.getStatus()) {
+        TransactionCallbacks.afterCommit(() ->
+            studentActivityStats.recordStatusChange(previous.getStatus(), courseStatus.getStatus()));
+      }
+    }
+  }
+
+  /**
+   * 条件に合うコースの申込状況をまとめて変更します。条件（コース名・変更前の申込状況・コース開始日の範囲・コース終了日）に合うコースは
+   * 1回のUPDATEで変更し、受講生コースIDのリストを指定した場合は {@value #TRANSITION_CHUNK_SIZE} 件ずつに分けて変更します。
+   * 全体を1つのトランザクションで行い、変更前に対象の行ロックを取得してから、コース名と変更前の申込状況ごとの件数を集計します。
+   * 受講生詳細のキャッシュは、変更したコースを持つ受講生の分だけ破棄します。受講生文書は、対象の行ロックを長く保持しないよう
+   * コミット後に一定件数ずつ作り直します。
+   *
+   * @param transition 一括変更の条件と変更後の申込状況
+   * @return 変更した件数と、コース名と変更前の申込状況ごとの件数
+   * @throws InvalidCourseStatusTransitionException 条件が1つも指定されていない場合
+   */
+  @Transactional
+  public CourseStatusTransitionResult transitionCourseStatuses(CourseStatusTransition transition) {
+    if (!transition.hasCondition()) {
+      throw new InvalidCourseStatusTransitionException(
+          "変更するコースの条件（受講生コースID、コース名、変更前の申込状況、コース開始日、コース終了日）を1つ以上指定してください。");
+    }
+
+    List<List<Integer>> courseIdChunks = new ArrayList<>();
+    if (transition.getCourseIds() == null) {
+      courseIdChunks.add(null);
+    } else {
+      List<Integer> courseIds = transition.getCourseIds();
+      for (int from = 0; from < courseIds.size(); from += TRANSITION_CHUNK_SIZE) {
+        courseIdChunks.add(courseIds.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, courseIds.size())));
+      }
+    }
+
+    int updatedCount = 0;
+    List<Integer> lockedCourseIds = new ArrayList<>();
+    List<CourseStatusCount> previousStatusCounts = new ArrayList<>();
+    for (List<Integer> courseIds : courseIdChunks) {
+      lockedCourseIds.addAll(repository.lockCourseStatusesForTransition(transition, courseIds));
+      previousStatusCounts.addAll(repository.countCourseStatusesForTransition(transition, courseIds));
+      updatedCount += repository.updateCourseStatusesForTransition(transition, courseIds);
+    }
+
+    if (updatedCount > 0) {
+      LocalDateTime now = LocalDateTime.now();
+      Set<Integer> studentIds = new HashSet<>();
+      for (int from = 0; from < lockedCourseIds.size(); from += TRANSITION_CHUNK_SIZE) {
+        List<StudentCourse> studentCourses = repository.searchStudentCoursesByCourseIds(
+            lockedCourseIds.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, lockedCourseIds.size())));
+        if (!studentCourses.isEmpty()) {
+          repository.registerStudentChangeOutbox(studentCourses.stream()
+              .map(studentCourse -> new StudentChangeEvent(StudentChangeEvent.Type.申込状況変更,
+                  studentCourse.getStudentId(), studentCourse.getId(), now))
+              .toList());
+          studentCourses.forEach(studentCourse -> studentIds.add(studentCourse.getStudentId()));
+        }
+      }
+      studentIds.forEach(studentDetailCache::invalidate);
+      studentDocumentStore.refreshAfterCommit(studentIds);
+      CourseStatus.Status toStatus = transition.getToStatus();
+      courseStatusCounter.applyAfterCommit(() -> previousStatusCounts.forEach(count ->
+          courseStatusCounter.changeStatus(count.getCourseName(), count.getStatus(), toStatus,
+              count.getCount())));
+      TransactionCallbacks.afterCommit(() -> previousStatusCounts.forEach(count ->
+          studentActivityStats.recordStatusChanges(count.getStatus(), toStatus, count.getCount())));
+    }
+    return new CourseStatusTransitionResult(updatedCount, previousStatusCounts);
+  }
+
+  /**
+   * 変更を送信待ちに追加します。変更と同じトランザクションの中で呼び出してください。
+   *
+   * @param eventType 変更の種類
+   * @param studentId 受講生ID
+   * @param courseId  受講生コースID。受講生の登録・更新の場合はnull
+   */
+  private void recordStudentChange(StudentChangeEvent.Type eventType, int studentId,
+      Integer courseId) {
+    repository.registerStudentChangeOutbox(
+        List.of(new StudentChangeEvent(eventType, studentId, courseId, LocalDateTime.now())));
+  }
+
+  /**
+   * 受講生コース情報のコース名が変わる場合に、コミット後に申込状況の件数を変更後のコース名へ移します。
+   * 受講生コース情報の更新前に呼び出してください。
+   *
+   * @param studentCourse 更新する受講生コース情報
+   */
+  private void updateCourseNameCount(StudentCourse studentCourse) {
+    StudentCourse previous = repository.searchStudentCourseByCourseId(studentCourse.getId());
+    if (previous == null || previous.getCourseName().equals(studentCourse.getCourseName())) {
+      return;
+    }
+    // 申込状況の行ロックは取得せず、バージョン番号と合わせて読み取る。コース名の競合は受講生コースのバージョン番号付きの更新で検出し、
+    // 申込状況の変更が並行してコミットされ、読み取った申込状況が古かった場合はコミット後に件数の作り直しを予約する
+    CourseStatus courseStatus = repository.searchCourseStatus(studentCourse.getId());
+    if (courseStatus != null) {
+      courseStatusCounter.applyAfterCommit(() -> {
+        courseStatusCounter.changeCourseName(
+            previous.getCourseName(), studentCourse.getCourseName(), courseStatus.getStatus());
+        CourseStatus committed = repository.searchCourseStatus(studentCourse.getId());
+        if (committed == null || committed.getVersion() != courseStatus.getVersion()) {
+          courseStatusCounter.markStale();
+        }
+      });
+    }
   }
 }
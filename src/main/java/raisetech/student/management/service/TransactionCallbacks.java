@@ -0,0 +1,32 @@
+package raisetech.student.management.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクションの完了に合わせて処理を実行するためのユーティリティです。
+ */
+public final class TransactionCallbacks {
+
+  private TransactionCallbacks() {
+  }
+
+  /**
+   * 実行中のトランザクションがコミットされた後に処理を実行します。
+   * トランザクション外で呼び出された場合は、その場で実行します。
+   *
+   * @param action コミット後に実行する処理
+   */
+  public static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
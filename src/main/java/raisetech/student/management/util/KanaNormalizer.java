@@ -0,0 +1,84 @@
+package raisetech.student.management.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * フリガナの検索キーを作成するための正規化処理です。
+ * ひらがな・カタカナ、全角・半角、英字の大文字・小文字、空白の有無の違いを吸収し、同じ読みが同じ文字列になるようにします。
+ * <ol>
+ *   <li>NFKCで正規化する（半角カタカナを全角に、全角英数字を半角にし、濁点・半濁点を合成する）</li>
+ *   <li>カタカナをひらがなに変換する（長音符「ー」はそのまま）</li>
+ *   <li>英字を小文字にし、空白を取り除く</li>
+ * </ol>
+ */
+public final class KanaNormalizer {
+
+  private static final char KATAKANA_SMALL_A = 'ァ';
+  private static final char KATAKANA_SMALL_KE = 'ヶ';
+  private static final char KATAKANA_ITERATION_MARK = 'ヽ';
+  private static final char KATAKANA_VOICED_ITERATION_MARK = 'ヾ';
+  private static final int KATAKANA_TO_HIRAGANA = 'ァ' - 'ぁ';
+
+  private KanaNormalizer() {
+  }
+
+  /**
+   * 文字列を検索キーに正規化します。
+   *
+   * @param value 正規化する文字列
+   * @return 正規化した文字列。nullの場合はnull
+   */
+  public static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+    StringBuilder builder = new StringBuilder(normalized.length());
+    for (int i = 0; i < normalized.length(); i++) {
+      char c = normalized.charAt(i);
+      if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+        continue;
+      }
+      builder.append(toHiragana(c));
+    }
+    return builder.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * 文字列を、データベースの照合順序（utf8mb4_0900_ai_ci）と同じく文字の種類の違いを区別せずに比較するための値に変換します。
+   * 検索キーへの正規化と異なり空白は取り除かず、代わりにアクセントや濁点・半濁点を取り除きます。
+   * <ol>
+   *   <li>NFKCで正規化する（全角・半角の違いを吸収する）</li>
+   *   <li>NFDで分解して結合文字（アクセント、濁点・半濁点）を取り除く</li>
+   *   <li>カタカナをひらがなに変換し、英字を小文字にする</li>
+   * </ol>
+   *
+   * @param value 変換する文字列
+   * @return 変換した文字列。nullの場合はnull
+   */
+  public static String fold(String value) {
+    if (value == null) {
+      return null;
+    }
+    String decomposed = Normalizer.normalize(
+        Normalizer.normalize(value, Normalizer.Form.NFKC), Normalizer.Form.NFD);
+    StringBuilder builder = new StringBuilder(decomposed.length());
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      if (Character.getType(c) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      builder.append(toHiragana(c));
+    }
+    return builder.toString().toLowerCase(Locale.ROOT);
+  }
+
+  private static char toHiragana(char c) {
+    if ((c >= KATAKANA_SMALL_A && c <= KATAKANA_SMALL_KE)
+        || c == KATAKANA_ITERATION_MARK || c == KATAKANA_VOICED_ITERATION_MARK) {
+      return (char) (c - KATAKANA_TO_HIRAGANA);
+    }
+    return c;
+  }
+}
@@ -1,3 +1,4 @@
+-- 受講生管理の初期スキーマ（既存のデータベースではテーブルが作成済みのため何もしない）
 CREATE TABLE IF NOT EXISTS students
 (
   id INT PRIMARY KEY AUTO_INCREMENT,
@@ -7,9 +8,9 @@ CREATE TABLE IF NOT EXISTS students
   email VARCHAR(100) NOT NULL,
   city VARCHAR(100),
   age INT,
-  gender VARCHAR (10),
+  gender VARCHAR(10),
   remark TEXT,
-  isDeleted boolean
+  isDeleted BOOLEAN
 );
 
 CREATE TABLE IF NOT EXISTS students_courses
@@ -23,9 +24,9 @@ CREATE TABLE IF NOT EXISTS students_courses
 
 CREATE TABLE IF NOT EXISTS course_status
 (
-    id INT NOT NULL AUTO_INCREMENT,
-    course_id INT NOT NULL,
-    status ENUM('仮申込', '本申込', '受講中', '受講終了') NOT NULL,
-    PRIMARY KEY (id),
-    FOREIGN KEY (course_id) REFERENCES students_courses(id) ON DELETE CASCADE
-);
\ No newline at end of file
+  id INT NOT NULL AUTO_INCREMENT,
+  course_id INT NOT NULL,
+  status ENUM('仮申込', '本申込', '受講中', '受講終了') NOT NULL,
+  PRIMARY KEY (id),
+  FOREIGN KEY (course_id) REFERENCES students_courses(id) ON DELETE CASCADE
+);
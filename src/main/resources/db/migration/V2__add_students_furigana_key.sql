@@ -0,0 +1,5 @@
+-- フリガナの検索キー（KanaNormalizerで正規化した値）。既存の行の値は V3 で設定する
+-- furigana_key はフリガナの部分一致（LIKE '%…%'）でしか検索せず、前方にワイルドカードが付くためB-treeインデックスは使われない。
+-- そのためインデックスは作成せず、部分一致は検索インデックス（StudentSearchIndex の2文字単位の転置インデックス）で
+-- 受講生IDに絞り込んでから主キーで検索する。インデックスの作成が終わっていない場合や絞り込めない条件の場合のみ全件走査のLIKE検索になる
+ALTER TABLE students ADD COLUMN furigana_key VARCHAR(100);
@@ -0,0 +1,14 @@
+-- 受講生IDによる受講生コース情報の検索（受講生詳細・ページ検索・結合検索）と、受講生ID順の読み出し（エクスポート）
+CREATE INDEX idx_students_courses_student_id ON students_courses (student_id, id);
+
+-- コース名による受講生コース情報の絞り込み
+CREATE INDEX idx_students_courses_course_name ON students_courses (course_name);
+
+-- 受講生コースIDによる申込状況の検索・更新（外部キー制約の索引を明示的に作成する）
+CREATE INDEX idx_course_status_course_id ON course_status (course_id, status);
+
+-- 申込状況による絞り込み
+CREATE INDEX idx_course_status_status ON course_status (status);
+
+-- 削除済みフラグと年齢・性別・居住地域による受講生の絞り込み
+CREATE INDEX idx_students_deleted_age_gender_city ON students (isDeleted, age, gender, city);
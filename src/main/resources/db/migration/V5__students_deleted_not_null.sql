@@ -0,0 +1,7 @@
+-- 削除済みフラグを必須にし、未設定の受講生は削除されていないものとして扱う
+UPDATE students SET isDeleted = FALSE WHERE isDeleted IS NULL;
+
+ALTER TABLE students MODIFY isDeleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- 削除済みフラグで絞り込んだ一覧・ページ検索（受講生ID順）を、該当する受講生だけの範囲検索にする
+CREATE INDEX idx_students_deleted_id ON students (isDeleted, id);
@@ -0,0 +1,9 @@
+-- 定期実行する処理の進捗（処理を終えた最後のID）。異常終了した場合は次回の実行でここから再開する
+CREATE TABLE IF NOT EXISTS batch_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_id INT NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+
+-- 受講中のコースを受講生コースID順に読み進める（終了日を過ぎたコースの受講終了への変更）
+CREATE INDEX idx_course_status_status_course_id ON course_status (status, course_id);
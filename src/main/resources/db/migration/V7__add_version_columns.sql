@@ -0,0 +1,6 @@
+-- 楽観的排他制御のためのバージョン番号。更新するたびに1ずつ増やし、更新時に読み取った時点の値と一致する場合のみ更新する
+ALTER TABLE students ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE students_courses ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE course_status ADD COLUMN version INT NOT NULL DEFAULT 0;
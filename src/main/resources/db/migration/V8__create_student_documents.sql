@@ -0,0 +1,6 @@
+-- 受講生ごとの読み出し用の文書（受講生・受講生コース・申込状況を結合したJSON）。受講生の書き込みと同じトランザクションで作り直す
+CREATE TABLE IF NOT EXISTS student_documents (
+    student_id INT PRIMARY KEY,
+    document MEDIUMTEXT NOT NULL,
+    updated_at DATETIME NOT NULL
+);
@@ -0,0 +1,20 @@
+-- 受講生・受講生コース・申込状況の変更の送信待ち（トランザクショナルアウトボックス）。変更と同じトランザクションで追加し、
+-- 配信処理が変更フィードへ移した時点で削除する
+CREATE TABLE IF NOT EXISTS student_change_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(20) NOT NULL,
+    student_id INT NOT NULL,
+    course_id INT,
+    created_at DATETIME NOT NULL
+);
+
+-- 配信済みの変更フィード。配信番号（feed_offset）は配信処理が配信した順に採番し、
+-- 利用者は前回受け取った配信番号より後の変更だけを取得する
+CREATE TABLE IF NOT EXISTS student_change_feed (
+    feed_offset BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(20) NOT NULL,
+    student_id INT NOT NULL,
+    course_id INT,
+    created_at DATETIME NOT NULL,
+    published_at DATETIME NOT NULL
+);
@@ -0,0 +1,52 @@
+package raisetech.student.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseDetail;
+
+class CborConfigTest {
+
+  private final ObjectMapper sut = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+
+  private final LocalDateTime startDate = LocalDateTime.of(2024, 4, 1, 10, 0);
+
+  private CourseDetail createCourseDetail() {
+    return new CourseDetail(new StudentCourse(3, 1, "Javaコース", startDate, startDate.plusYears(1), 2),
+        new CourseStatus(5, 3, Status.受講中, 1));
+  }
+
+  @Test
+  void 申込状況は順序で日時はエポックミリ秒で出力されること() throws Exception {
+    byte[] cbor = sut.writeValueAsBytes(createCourseDetail());
+
+    JsonNode actual = new ObjectMapper(new CBORFactory()).readTree(cbor);
+    assertThat(actual.get("courseStatus").get("status").isInt()).isTrue();
+    assertThat(actual.get("courseStatus").get("status").asInt()).isEqualTo(Status.受講中.ordinal());
+    assertThat(actual.get("studentCourse").get("startDate").asLong())
+        .isEqualTo(startDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+
+  @Test
+  void 出力したCBORを読み込むと同じ内容に戻りJSONより小さいこと() throws Exception {
+    List<CourseDetail> courseDetails = List.of(createCourseDetail(), createCourseDetail());
+
+    byte[] cbor = sut.writeValueAsBytes(courseDetails);
+    CourseDetail[] actual = sut.readValue(cbor, CourseDetail[].class);
+
+    assertThat(actual).hasSize(2);
+    assertThat(actual[0]).usingRecursiveComparison().isEqualTo(courseDetails.get(0));
+    byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(courseDetails);
+    assertThat(cbor.length).isLessThan(json.length);
+  }
+}
@@ -0,0 +1,83 @@
+package raisetech.student.management.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.repository.StudentRepository;
+
+@MybatisTest
+@Import(MapperMetricsInterceptorTest.MetricsTestConfig.class)
+class MapperMetricsInterceptorTest {
+
+  @TestConfiguration
+  static class MetricsTestConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry registry) {
+      return new MapperMetricsInterceptor(registry);
+    }
+  }
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @Test
+  void 検索ステートメントごとに実行時間と返した行数が記録されること() {
+    repository.searchStudentPage(null, null, 100, null);
+    repository.searchStudentPage(null, null, 100, null);
+
+    Timer timer = registry.get(MapperMetricsInterceptor.TIMER_NAME)
+        .tag("statement", "StudentRepository.searchStudentPage")
+        .tag("type", "query")
+        .tag("outcome", "success")
+        .timer();
+    DistributionSummary rows = registry.get(MapperMetricsInterceptor.ROWS_NAME)
+        .tag("statement", "StudentRepository.searchStudentPage")
+        .summary();
+
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(rows.count()).isEqualTo(2);
+    assertThat(rows.totalAmount()).isEqualTo(10);
+    assertThat(rows.max()).isEqualTo(5);
+  }
+
+  @Test
+  void 更新ステートメントは更新した行数が記録されること() {
+    repository.updateCourseStatus(new CourseStatus(1, 1, Status.受講中));
+
+    DistributionSummary rows = registry.get(MapperMetricsInterceptor.ROWS_NAME)
+        .tag("statement", "StudentRepository.updateCourseStatus")
+        .tag("type", "update")
+        .summary();
+
+    assertThat(rows.count()).isEqualTo(1);
+    assertThat(rows.totalAmount()).isEqualTo(1);
+  }
+
+  @Test
+  void ステートメント名はパッケージ名を除いたMapperとメソッドの名前になること() {
+    assertThat(MapperMetricsInterceptor.statementName(
+        "raisetech.student.management.repository.StudentRepository.searchStudent"))
+        .isEqualTo("StudentRepository.searchStudent");
+    assertThat(MapperMetricsInterceptor.statementName("search")).isEqualTo("search");
+  }
+}
@@ -4,24 +4,40 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -29,15 +45,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
 import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatusCount;
 import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.BulkRegistrationError;
+import raisetech.student.management.domain.BulkRegistrationResult;
 import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.domain.CourseStatusTransitionResult;
+import raisetech.student.management.domain.StudentChangeFeedPage;
 import raisetech.student.management.domain.StudentSearchResponse;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.exception.InvalidCourseStatusTransitionException;
+import raisetech.student.management.exception.UpdateConflictException;
+import raisetech.student.management.service.StudentBulkRegistrationService;
+import raisetech.student.management.service.StudentChangeFeed;
+import raisetech.student.management.service.StudentDocumentStore;
 import raisetech.student.management.service.StudentService;
 
 @SpringBootTest
@@ -49,6 +81,15 @@ class StudentControllerTest {
   @MockBean
   private StudentService service;
 
+  @MockBean
+  private StudentBulkRegistrationService bulkRegistrationService;
+
+  @MockBean
+  private StudentDocumentStore studentDocumentStore;
+
+  @MockBean
+  private StudentChangeFeed studentChangeFeed;
+
   private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
   @BeforeEach
@@ -57,12 +98,12 @@ class StudentControllerTest {
   }
   @Test
   void 受講生詳細の一覧検索が実行できて空のリストが返ってくること() throws Exception {
-    // モックサービスの設定で空リストを返す
+    // モックサービスの設定で空のページを返す
     Boolean deleted = false;
-    List<StudentDetail> emptyList = Collections.emptyList();  // 空のリスト
+    StudentDetailPage emptyPage = new StudentDetailPage(Collections.emptyList(), null);  // 空のページ
 
     // モックサービスの設定
-    when(service.searchStudentList(deleted)).thenReturn(emptyList);
+    when(service.searchStudentPage(null, null, 100, null)).thenReturn(emptyPage);
 
     // GETリクエストを実行して空のリストが返ってくることを確認
     mockMvc.perform(MockMvcRequestBuilders.get("/studentList")
@@ -70,7 +111,118 @@ class StudentControllerTest {
         .andExpect(status().isNoContent());  // 空のリストの場合、204 No Content が返ることを期待
 
     // サービスメソッドが1回呼ばれたことを確認
-    verify(service, times(1)).searchStudentList(deleted);
+    verify(service, times(1)).searchStudentPage(null, null, 100, null);
+  }
+
+  @Test
+  void 受講生詳細の一覧検索で続きがある場合に次のカーソルがヘッダーで返ってくること() throws Exception {
+    Student student = new Student();
+    student.setId(1);
+    student.setName("長井　アンナ");
+    StudentDetail studentDetail = new StudentDetail(student, Collections.emptyList());
+
+    when(service.searchStudentPage(null, "MQ", 1, null))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), "Mg"));
+
+    mockMvc.perform(get("/studentList")
+            .param("size", "1")
+            .param("cursor", "MQ"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(StudentController.NEXT_CURSOR_HEADER, "Mg"))
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].student.name").value("長井　アンナ"));
+
+    verify(service, times(1)).searchStudentPage(null, "MQ", 1, null);
+  }
+
+  @Test
+  void 受講生詳細の一覧検索でfieldsを指定した場合は指定した項目と受講生IDのみが返ってくること() throws Exception {
+    Student student = new Student();
+    student.setId(1);
+    student.setName("長井　アンナ");
+    StudentDetail studentDetail = new StudentDetail(student, Collections.emptyList());
+
+    when(service.searchStudentPage(eq(null), eq(null), eq(100),
+        argThat(fields -> fields != null && fields.getNames().equals(Set.of("id", "name")))))
+        .thenReturn(new StudentDetailPage(List.of(studentDetail), null));
+
+    mockMvc.perform(get("/studentList").param("fields", "name"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].student.id").value(1))
+        .andExpect(jsonPath("$[0].student.name").value("長井　アンナ"))
+        .andExpect(jsonPath("$[0].student.email").doesNotExist())
+        .andExpect(jsonPath("$[0].student.age").doesNotExist())
+        .andExpect(jsonPath("$[0].studentCourseList").isArray());
+
+    mockMvc.perform(get("/studentList").param("fields", "name,password"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(containsString("password")));
+  }
+
+  @Test
+  void 受講生詳細の全件エクスポートが改行区切りのJSONで返ってくること() throws Exception {
+    Student student1 = new Student();
+    student1.setId(1);
+    student1.setName("長井　アンナ");
+    Student student2 = new Student();
+    student2.setId(2);
+    student2.setName("江並こうじ");
+
+    doAnswer(invocation -> {
+      Consumer<StudentDetail> consumer = invocation.getArgument(0);
+      consumer.accept(new StudentDetail(student1, Collections.emptyList()));
+      consumer.accept(new StudentDetail(student2, Collections.emptyList()));
+      return null;
+    }).when(service).exportStudentDetails(any());
+
+    String body = mockMvc.perform(get("/studentList/export"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(StudentController.NDJSON_MEDIA_TYPE))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertThat(lines[0]).startsWith("{").contains("長井　アンナ");
+    assertThat(lines[1]).startsWith("{").contains("江並こうじ");
+    assertThat(body).endsWith("\n");
+  }
+
+  @Test
+  void 受講生文書の検索で保存済みのJSONがそのまま返ってくること() throws Exception {
+    when(studentDocumentStore.find(1)).thenReturn(
+        "{\"studentDetail\":{\"student\":{\"id\":1,\"name\":\"田中太郎\"}},\"courseDetailList\":[]}");
+
+    mockMvc.perform(get("/students/{id}", 1))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.studentDetail.student.name").value("田中太郎"));
+
+    mockMvc.perform(get("/students/{id}", 999))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void 変更フィードで指定した配信番号より後の変更と次の配信番号が返ってくること() throws Exception {
+    StudentChangeEvent event = new StudentChangeEvent(StudentChangeEvent.Type.申込状況変更, 1, 3,
+        LocalDateTime.of(2024, 11, 7, 14, 0));
+    event.setFeedOffset(43L);
+    DeferredResult<StudentChangeFeedPage> result = new DeferredResult<>();
+    result.setResult(new StudentChangeFeedPage(List.of(event), 43));
+    when(studentChangeFeed.poll(42, 100, Duration.ofSeconds(10))).thenReturn(result);
+
+    MvcResult mvcResult = mockMvc.perform(get("/studentChanges")
+            .param("after", "42")
+            .param("wait", "10"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextOffset").value(43))
+        .andExpect(jsonPath("$.events[0].feedOffset").value(43))
+        .andExpect(jsonPath("$.events[0].eventType").value("申込状況変更"))
+        .andExpect(jsonPath("$.events[0].courseId").value(3))
+        .andExpect(jsonPath("$.events[0].id").doesNotExist());
   }
 
   @Test
@@ -82,23 +234,106 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudent(id);
   }
 
+  @Test
+  void 受講生詳細のID検索でETagが一致する場合はステータスが304で返ってくること() throws Exception {
+    StudentDetail studentDetail = new StudentDetail(new Student(), List.of());
+    when(service.searchStudent(1)).thenReturn(studentDetail);
+    when(service.getStudentETag(studentDetail)).thenReturn("\"student-1-2-0-0\"");
+
+    mockMvc.perform(get("/Student/{id}", 1))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"student-1-2-0-0\""));
+
+    mockMvc.perform(get("/Student/{id}", 1).header("If-None-Match", "\"student-1-2-0-0\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void コースと申込状況の全件検索でETagが一致する場合は検索せずにステータスが304で返ってくること() throws Exception {
+    when(service.getCourseListETag()).thenReturn("\"courses-abc-3\"");
+
+    mockMvc.perform(get("/studentList/courses").header("If-None-Match", "\"courses-abc-3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"courses-abc-3\""));
+
+    verify(service, never()).exportCourseDetails(any());
+  }
+
+  @Test
+  void コースと申込状況の全件検索でCBORを指定した場合はCBORで返ってくること() throws Exception {
+    LocalDateTime startDate = LocalDateTime.of(2024, 4, 1, 10, 0);
+    stubExportCourseDetails(List.of(new CourseDetail(
+        new StudentCourse(3, 1, "Javaコース", startDate, startDate.plusYears(1)),
+        new CourseStatus(5, 3, CourseStatus.Status.受講中))));
+
+    byte[] cbor = mockMvc.perform(get("/studentList/courses").accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+    JsonNode actual = new ObjectMapper(new CBORFactory()).readTree(cbor);
+    assertThat(actual.get(0).get("courseStatus").get("status").asInt())
+        .isEqualTo(CourseStatus.Status.受講中.ordinal());
+    assertThat(actual.get(0).get("studentCourse").get("startDate").isNumber()).isTrue();
+
+    mockMvc.perform(get("/studentList/courses"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$[0].courseStatus.status").value("受講中"));
+  }
+
+  @Test
+  void コースと申込状況の全件検索でAcceptに並んだ順に出力形式が選ばれること() throws Exception {
+    stubExportCourseDetails(List.of(new CourseDetail(
+        new StudentCourse(3, 1, "Javaコース", LocalDateTime.of(2024, 4, 1, 10, 0),
+            LocalDateTime.of(2025, 4, 1, 10, 0)),
+        new CourseStatus(5, 3, CourseStatus.Status.受講中))));
+
+    mockMvc.perform(get("/studentList/courses").header("Accept", "application/cbor, application/json"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    mockMvc.perform(get("/studentList/courses").header("Accept", "*/*"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.length()").value(1));
+  }
+
   @Test
   void コースと申込状況の全件検索が実行できて空のリストが返ってくること() throws Exception {
     // モックサービスの設定で空リストを返す
     List<CourseDetail> emptyCourseList = Collections.emptyList();  // 空のリスト
 
     // モックサービスの設定
-    when(service.getAllCourses()).thenReturn(emptyCourseList);
+    stubExportCourseDetails(emptyCourseList);
 
     // GETリクエストを実行して空のリストが返ってくることを確認
     mockMvc.perform(MockMvcRequestBuilders.get("/studentList/courses"))
         .andExpect(status().isNoContent());  // 空のリストの場合、204 No Content が返ることを期待
 
     // サービスメソッドが1回呼ばれたことを確認
-    verify(service, times(1)).getAllCourses();
+    verify(service, times(1)).exportCourseDetails(any());
   }
 
 
+  @Test
+  void コース名ごとの申込状況の件数が返ってくること() throws Exception {
+    Map<CourseStatus.Status, Long> statusCounts = new EnumMap<>(CourseStatus.Status.class);
+    statusCounts.put(CourseStatus.Status.仮申込, 2L);
+    statusCounts.put(CourseStatus.Status.本申込, 0L);
+    statusCounts.put(CourseStatus.Status.受講中, 1L);
+    statusCounts.put(CourseStatus.Status.受講終了, 0L);
+    when(service.getCourseStatusSummary())
+        .thenReturn(List.of(new CourseStatusSummary("Javaコース", statusCounts)));
+
+    mockMvc.perform(get("/studentList/courses/statuses/summary"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].courseName").value("Javaコース"))
+        .andExpect(jsonPath("$[0].statusCounts.仮申込").value(2))
+        .andExpect(jsonPath("$[0].statusCounts.受講中").value(1));
+
+    verify(service, times(1)).getCourseStatusSummary();
+  }
+
   @Test
   void 条件に基づいて受講生詳細を検索し正しいデータが返ってくること() throws Exception {
     // モックデータを直接フィールドに設定
@@ -113,7 +348,7 @@ class StudentControllerTest {
 
     // モックサービスの設定
     when(service.searchIntegratedDetails(
-        "テスト花子", "テストハナコ", "東京", 25, "女性", "Java", null))
+        "テスト花子", "テストハナコ", "東京", 25, "女性", "Java", null, null))
         .thenReturn(List.of(response));
 
     // テストの実行
@@ -149,7 +384,7 @@ class StudentControllerTest {
     List<CourseDetail> courseDetails = Arrays.asList(courseDetail1, courseDetail2);
 
     // サービスがコース情報を返すようにモックする
-    when(service.getAllCourses()).thenReturn(courseDetails);
+    stubExportCourseDetails(courseDetails);
 
     // エンドポイントにアクセスし、200 OK と コース情報が返ることを確認
     mockMvc.perform(get("/studentList/courses"))
@@ -163,20 +398,28 @@ class StudentControllerTest {
         .andExpect(jsonPath("$[1].courseStatus.status").value("受講中"));
 
     // サービスのメソッドが1回呼ばれていることを確認
-    verify(service, times(1)).getAllCourses();
+    verify(service, times(1)).exportCourseDetails(any());
   }
 
   @Test
   void 受講生コース詳細の一覧検索が実行できて空リストが返ってくること() throws Exception {
     // サービスが空リストを返すようにモックする
-    when(service.getAllCourses()).thenReturn(Collections.emptyList());
+    stubExportCourseDetails(Collections.emptyList());
 
     // エンドポイントにアクセスし、204 No Content が返ることを確認
     mockMvc.perform(get("/studentList/courses"))
         .andExpect(status().isNoContent());
 
     // サービスのメソッドが1回呼ばれていることを確認
-    verify(service, times(1)).getAllCourses();
+    verify(service, times(1)).exportCourseDetails(any());
+  }
+
+  private void stubExportCourseDetails(List<CourseDetail> courseDetails) {
+    doAnswer(invocation -> {
+      Consumer<CourseDetail> consumer = invocation.getArgument(0);
+      courseDetails.forEach(consumer);
+      return null;
+    }).when(service).exportCourseDetails(any());
   }
 
   @Test
@@ -209,6 +452,55 @@ class StudentControllerTest {
     verify(service, times(1)).registerStudent(any());
   }
 
+  @Test
+  void 受講生詳細の一括登録が実行できて要素ごとの結果が返ってくること() throws Exception {
+    BulkRegistrationResult result = new BulkRegistrationResult(1, 1, Arrays.asList(10, null),
+        List.of(new BulkRegistrationError(1, "student.email: 電子メールアドレスとして正しい形式にしてください")));
+    when(bulkRegistrationService.registerStudents(any(), eq(100))).thenReturn(result);
+
+    mockMvc.perform(post("/registerStudents")
+            .param("chunkSize", "100")
+            .contentType(MediaType.APPLICATION_JSON).content(
+                """
+                    [
+                        {
+                            "student" : {
+                                "name": "長井　アンナ",
+                                "furigana": "ナガイ　アンナ",
+                                "nickname": "あんちゃん",
+                                "email": "example1113@jp.com",
+                                "city": "大阪",
+                                "age": 34,
+                                "gender": "female"
+                            },
+                            "studentCourseList" : [
+                                {
+                                    "courseName": "Javaコース"
+                                }
+                            ]
+                        },
+                        {
+                            "student" : {
+                                "name": "江並こうじ",
+                                "furigana": "エナミコウジ",
+                                "nickname": "えーちゃん",
+                                "email": "invalid",
+                                "city": "奈良県",
+                                "age": 36,
+                                "gender": "male"
+                            },
+                            "studentCourseList" : []
+                        }
+                    ]
+                    """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.registeredCount").value(1))
+        .andExpect(jsonPath("$.studentIds[0]").value(10))
+        .andExpect(jsonPath("$.errors[0].index").value(1));
+
+    verify(bulkRegistrationService, times(1)).registerStudents(any(), eq(100));
+  }
+
   @Test
   void 受講生詳細の更新が実行できて空で返ってくること() throws Exception {
     mockMvc.perform(put("/updateStudent")
@@ -241,6 +533,103 @@ class StudentControllerTest {
     verify(service, times(1)).updateStudent(any());
   }
 
+  @Test
+  void 受講生詳細の更新が他の更新と競合した場合はステータスが409で返ってくること() throws Exception {
+    doThrow(new UpdateConflictException("受講生は他の更新で変更されました。"))
+        .when(service).updateStudent(any());
+
+    mockMvc.perform(put("/updateStudent")
+            .contentType(MediaType.APPLICATION_JSON).content(
+                """
+                    {
+                        "student": {
+                            "id": "30",
+                            "name": "長井　アンナ",
+                            "furigana": "ナガイ　アンナ",
+                            "nickname": "あんちゃん",
+                            "email": "example1113@jp.com",
+                            "city": "大阪",
+                            "age": 34,
+                            "gender": "female",
+                            "remark": "大阪大好き",
+                            "version": 3
+                        },
+                        "studentCourseList": []
+                    }
+                    """))
+        .andExpect(status().isConflict())
+        .andExpect(content().string("受講生は他の更新で変更されました。"));
+
+    verify(service, times(1)).updateStudent(argThat(studentDetail ->
+        studentDetail.getStudent().getVersion() == 3));
+  }
+
+  @Test
+  void 申込状況の更新が他の更新と競合した場合はステータスが409で返ってくること() throws Exception {
+    doThrow(new UpdateConflictException("申込状況は他の更新で変更されました。"))
+        .when(service).updateCourseStatus(any());
+
+    mockMvc.perform(put("/studentList/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"id\": 1, \"courseId\": 3, \"status\": \"本申込\", \"version\": 2}"))
+        .andExpect(status().isConflict())
+        .andExpect(content().string("申込状況は他の更新で変更されました。"));
+
+    verify(service, times(1)).updateCourseStatus(argThat(courseStatus ->
+        courseStatus.getCourseId() == 3 && courseStatus.getVersion() == 2));
+  }
+
+  @Test
+  void 申込状況の更新が行ロックの待ち合わせで失敗した場合はステータスが409で返ってくること() throws Exception {
+    doThrow(new PessimisticLockingFailureException("Deadlock found when trying to get lock"))
+        .when(service).updateCourseStatus(any());
+
+    mockMvc.perform(put("/studentList/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"id\": 1, \"courseId\": 3, \"status\": \"本申込\", \"version\": 2}"))
+        .andExpect(status().isConflict())
+        .andExpect(content().string("他の更新と競合したため、更新を取り消しました。もう一度実行してください。"));
+  }
+
+  @Test
+  void 申込状況の一括変更が実行できて変更件数が返ってくること() throws Exception {
+    when(service.transitionCourseStatuses(any())).thenReturn(new CourseStatusTransitionResult(2,
+        List.of(new CourseStatusCount("Javaコース", CourseStatus.Status.本申込, 2))));
+
+    mockMvc.perform(put("/studentList/courses/statuses/bulkUpdate")
+            .contentType(MediaType.APPLICATION_JSON).content(
+                """
+                    {
+                        "toStatus": "受講中",
+                        "courseName": "Javaコース",
+                        "currentStatus": "本申込",
+                        "startDateFrom": "2025-04-01T00:00:00",
+                        "startDateTo": "2025-05-01T00:00:00"
+                    }
+                    """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updatedCount").value(2))
+        .andExpect(jsonPath("$.previousStatusCounts[0].courseName").value("Javaコース"))
+        .andExpect(jsonPath("$.previousStatusCounts[0].status").value("本申込"));
+
+    verify(service, times(1)).transitionCourseStatuses(argThat(transition ->
+        transition.getToStatus() == CourseStatus.Status.受講中
+            && "Javaコース".equals(transition.getCourseName())
+            && transition.getCurrentStatus() == CourseStatus.Status.本申込
+            && transition.getCourseIds() == null));
+  }
+
+  @Test
+  void 申込状況の一括変更で条件が指定されていない場合はステータスが400で返ってくること() throws Exception {
+    when(service.transitionCourseStatuses(any()))
+        .thenThrow(new InvalidCourseStatusTransitionException("条件を指定してください。"));
+
+    mockMvc.perform(put("/studentList/courses/statuses/bulkUpdate")
+            .contentType(MediaType.APPLICATION_JSON).content("{\"toStatus\": \"受講中\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("条件を指定してください。"));
+  }
+
   @Test
   void 受講生詳細の例外APIが実行できてステータスが400で帰ってくること() throws Exception {
     mockMvc.perform(get("/exception"))
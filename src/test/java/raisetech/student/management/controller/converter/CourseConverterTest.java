@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,46 @@ class CourseConverterTest {
     assertThat(actual.get(0).getCourseStatus()).isNull();
   }
 
+  @Test
+  void 作成済みの索引を使って複数のコースに申込状況を紐づけられること() {
+    StudentCourse studentCourse1 = createStudentCourse();
+    StudentCourse studentCourse2 = new StudentCourse(2, 1, "AWSコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+
+    CourseStatus courseStatus1 = new CourseStatus(1, 1, CourseStatus.Status.受講中);
+    CourseStatus courseStatus2 = new CourseStatus(2, 2, CourseStatus.Status.仮申込);
+    CourseStatus duplicatedStatus = new CourseStatus(3, 1, CourseStatus.Status.受講終了);
+
+    CourseStatusIndex index = CourseStatusIndex.of(List.of(courseStatus2, courseStatus1, duplicatedStatus));
+
+    List<CourseDetail> actual = sut.convertToCourseDetails(List.of(studentCourse1, studentCourse2), index);
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(actual).hasSize(2);
+    assertThat(actual.get(0).getCourseStatus()).isEqualTo(courseStatus1);
+    assertThat(actual.get(1).getCourseStatus()).isEqualTo(courseStatus2);
+  }
+
+  @Test
+  void 受講生コースID順の一覧を突き合わせてコース詳細が順に渡されること() {
+    StudentCourse studentCourse1 = createStudentCourse();
+    StudentCourse studentCourse2 = new StudentCourse(2, 1, "AWSコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse studentCourse4 = new StudentCourse(4, 2, "デザインコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+
+    CourseStatus courseStatus1 = new CourseStatus(1, 1, CourseStatus.Status.受講中);
+    CourseStatus duplicatedStatus = new CourseStatus(5, 1, CourseStatus.Status.受講終了);
+    CourseStatus orphanStatus = new CourseStatus(2, 3, CourseStatus.Status.本申込);  // 受講生コース情報が存在しない
+    CourseStatus courseStatus4 = new CourseStatus(3, 4, CourseStatus.Status.仮申込);
+
+    List<CourseDetail> actual = new ArrayList<>();
+    sut.convertSortedCourseDetails(List.of(studentCourse1, studentCourse2, studentCourse4),
+        List.of(courseStatus1, duplicatedStatus, orphanStatus, courseStatus4), actual::add);
+
+    assertThat(actual).extracting(CourseDetail::getStudentCourse)
+        .containsExactly(studentCourse1, studentCourse2, studentCourse4);
+    assertThat(actual).extracting(CourseDetail::getCourseStatus)
+        .containsExactly(courseStatus1, null, courseStatus4);
+  }
+
   private static StudentCourse createStudentCourse() {
     // 引数付きコンストラクタを使用
     return new StudentCourse(1, 1, "Javaコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
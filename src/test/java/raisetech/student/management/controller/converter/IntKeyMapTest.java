@@ -0,0 +1,75 @@
+package raisetech.student.management.controller.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntKeyMapTest {
+
+  private IntKeyMap<String> sut;
+
+  @BeforeEach
+  void before() {
+    sut = new IntKeyMap<>();
+  }
+
+  @Test
+  void 登録した値をキーで取得できること() {
+    sut.putIfAbsent(1, "one");
+    sut.putIfAbsent(-5, "minus five");
+
+    assertThat(sut.get(1)).isEqualTo("one");
+    assertThat(sut.get(-5)).isEqualTo("minus five");
+    assertThat(sut.get(2)).isNull();
+    assertThat(sut.size()).isEqualTo(2);
+  }
+
+  @Test
+  void putでは既に登録されている値を置き換えて以前の値を返すこと() {
+    assertThat(sut.put(1, "first")).isNull();
+
+    String actual = sut.put(1, "second");
+
+    assertThat(actual).isEqualTo("first");
+    assertThat(sut.get(1)).isEqualTo("second");
+    assertThat(sut.size()).isEqualTo(1);
+  }
+
+  @Test
+  void 既に登録されているキーには上書きせず既存の値を返すこと() {
+    sut.putIfAbsent(1, "first");
+
+    String actual = sut.putIfAbsent(1, "second");
+
+    assertThat(actual).isEqualTo("first");
+    assertThat(sut.get(1)).isEqualTo("first");
+    assertThat(sut.size()).isEqualTo(1);
+  }
+
+  @Test
+  void 初期容量を超えて登録しても全ての値を取得できること() {
+    for (int i = 0; i < 10_000; i++) {
+      sut.computeIfAbsent(i * 16, key -> "value" + key);
+    }
+
+    assertThat(sut.size()).isEqualTo(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(sut.get(i * 16)).isEqualTo("value" + (i * 16));
+    }
+  }
+
+  @Test
+  void computeIfAbsentで生成した値に要素を追加していけること() {
+    IntKeyMap<List<String>> grouping = new IntKeyMap<>();
+
+    grouping.computeIfAbsent(1, key -> new ArrayList<>()).add("a");
+    grouping.computeIfAbsent(2, key -> new ArrayList<>()).add("b");
+    grouping.computeIfAbsent(1, key -> new ArrayList<>()).add("c");
+
+    assertThat(grouping.get(1)).containsExactly("a", "c");
+    assertThat(grouping.get(2)).containsExactly("b");
+  }
+}
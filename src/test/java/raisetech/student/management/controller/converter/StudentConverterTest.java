@@ -3,6 +3,7 @@ package raisetech.student.management.controller.converter;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,50 @@ class StudentConverterTest {
     assertThat(actual.get(0).getStudentCourseList()).isEmpty();
   }
 
+  @Test
+  void 複数の受講生に受講生コース情報が元の順序のまま振り分けられること() {
+    Student student1 = createStudent();
+    Student student2 = createStudent();
+    student2.setId(2);
+
+    StudentCourse course1 = new StudentCourse(1, 2, "Javaコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse course2 = new StudentCourse(2, 1, "AWSコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse course3 = new StudentCourse(3, 2, "デザインコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+
+    List<StudentDetail> actual = sut.convertStudentDetails(List.of(student1, student2),
+        List.of(course1, course2, course3));
+
+    assertThat(actual).hasSize(2);
+    assertThat(actual.get(0).getStudent()).isEqualTo(student1);
+    assertThat(actual.get(0).getStudentCourseList()).containsExactly(course2);
+    assertThat(actual.get(1).getStudent()).isEqualTo(student2);
+    assertThat(actual.get(1).getStudentCourseList()).containsExactly(course1, course3);
+  }
+
+  @Test
+  void 受講生ID順の受講生と受講生コース情報を突き合わせて受講生詳細が1件ずつ渡されること() {
+    Student student1 = createStudent();
+    Student student2 = createStudent();
+    student2.setId(2);
+    Student student3 = createStudent();
+    student3.setId(3);
+
+    StudentCourse orphanCourse = new StudentCourse(9, 0, "Javaコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse course1 = new StudentCourse(1, 1, "Javaコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse course2 = new StudentCourse(2, 3, "AWSコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+    StudentCourse course3 = new StudentCourse(3, 3, "デザインコース", LocalDateTime.now(), LocalDateTime.now().plusYears(1));
+
+    List<StudentDetail> actual = new ArrayList<>();
+    sut.convertSortedStudentDetails(List.of(student1, student2, student3),
+        List.of(orphanCourse, course1, course2, course3), actual::add);
+
+    assertThat(actual).hasSize(3);
+    assertThat(actual.get(0).getStudentCourseList()).containsExactly(course1);
+    assertThat(actual.get(1).getStudent()).isEqualTo(student2);
+    assertThat(actual.get(1).getStudentCourseList()).isEmpty();
+    assertThat(actual.get(2).getStudentCourseList()).containsExactly(course2, course3);
+  }
+
   private static Student createStudent() {
     Student student = new Student();
     student.setId(1);
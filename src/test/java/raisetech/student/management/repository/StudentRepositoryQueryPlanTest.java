@@ -0,0 +1,232 @@
+package raisetech.student.management.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.StudentFields;
+
+/**
+ * studentRepository.xml の検索・更新文を EXPLAIN し、全件走査（tableScan）になっていないことを確かめるテストです。
+ * 各文は、検索条件を指定した場合の実行計画で確かめます。名前・フリガナ・居住地域の部分一致（前方にワイルドカードが付くLIKE）は
+ * 索引が使えないため、受講生検索インデックスで絞り込む前提として条件に指定せず、部分一致の検索は別のテストで確かめます。
+ */
+@MybatisTest
+class StudentRepositoryQueryPlanTest {
+
+  /**
+   * 全件走査を許可する文と、その理由
+   */
+  private static final Map<String, String> FULL_SCAN_ALLOWED = Map.ofEntries(
+      Map.entry("searchStudentCursor", "全件のエクスポート"),
+      Map.entry("searchStudentCourseList", "全件検索"),
+      Map.entry("searchStudentCourseCursor", "全件のエクスポート"),
+      Map.entry("searchStudentCourseCursorById", "コース詳細一覧の全件のストリーミング出力"),
+      Map.entry("searchCourseStatusCursor", "コース詳細一覧の全件のストリーミング出力"),
+      Map.entry("searchCourseStatusList", "全件検索"),
+      Map.entry("countCourseStatuses", "起動時に申込状況の件数を作成するための全件集計"),
+      Map.entry("searchOrphanStudentDocumentIds", "受講生文書の整合性の確認"),
+      Map.entry("deleteOrphanStudentDocuments", "受講生文書の全件作り直し"),
+      Map.entry("searchCourseListVersion", "主キーの最大値（MySQLでは索引の末尾を読むだけで求まる）"),
+      Map.entry("searchLatestStudentChangeFeedOffset", "主キーの最大値（MySQLでは索引の末尾を読むだけで求まる）"),
+      Map.entry("searchStudentChangeOutbox", "送信待ちは配信処理が随時削除するため、件数が少ない"));
+
+  @Autowired
+  private SqlSessionFactory sqlSessionFactory;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void マッパーの検索と更新が全件走査にならないこと() throws Exception {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    String namespace = StudentRepository.class.getName() + ".";
+    Map<String, String> fullScans = new TreeMap<>();
+    List<String> explained = new ArrayList<>();
+
+    try (Connection connection = dataSource.getConnection()) {
+      for (Method method : StudentRepository.class.getMethods()) {
+        if (!configuration.hasStatement(namespace + method.getName())) {
+          continue;
+        }
+        MappedStatement mappedStatement = configuration.getMappedStatement(namespace + method.getName());
+        SqlCommandType commandType = mappedStatement.getSqlCommandType();
+        if (commandType != SqlCommandType.SELECT && commandType != SqlCommandType.UPDATE
+            && commandType != SqlCommandType.DELETE) {
+          continue;
+        }
+
+        Object parameter = new ParamNameResolver(configuration, method)
+            .getNamedParams(sampleArguments(method));
+        String plan = explain(connection, mappedStatement, parameter);
+        explained.add(method.getName());
+        if (plan.contains(".tableScan") && !FULL_SCAN_ALLOWED.containsKey(method.getName())) {
+          fullScans.put(method.getName(), plan);
+        }
+      }
+    }
+
+    assertThat(explained).containsAll(FULL_SCAN_ALLOWED.keySet());
+    assertThat(fullScans).as("全件走査になっている文と実行計画").isEmpty();
+  }
+
+  @Test
+  void 部分一致の条件は検索インデックスで絞り込んだ場合は全件走査にならずLIKE検索では受講生のみ全件走査になること()
+      throws Exception {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    Method method = Arrays.stream(StudentRepository.class.getMethods())
+        .filter(candidate -> candidate.getName().equals("searchIntegratedDetails"))
+        .findFirst()
+        .orElseThrow();
+    MappedStatement mappedStatement = configuration.getMappedStatement(
+        StudentRepository.class.getName() + "." + method.getName());
+    String[][] conditions = {
+        {"田中", null, null},
+        {null, "たなか", null},
+        {null, null, "東京"},
+        {"田中", "たなか", "東京"}};
+
+    try (Connection connection = dataSource.getConnection()) {
+      for (String[] condition : conditions) {
+        String indexed = explain(connection, mappedStatement, new ParamNameResolver(configuration, method)
+            .getNamedParams(integratedDetailsArguments(method, condition, List.of(1, 3))));
+        assertThat(indexed).as("検索インデックスで絞り込んだ場合の実行計画").doesNotContain(".tableScan");
+
+        String fallback = explain(connection, mappedStatement, new ParamNameResolver(configuration, method)
+            .getNamedParams(integratedDetailsArguments(method, condition, null)));
+        assertThat(fallback).as("LIKE検索にフォールバックした場合の実行計画")
+            .containsIgnoringCase(".students.tableScan");
+        assertThat(fallback.replaceAll("(?i)\\.students\\.tableScan", ""))
+            .as("LIKE検索にフォールバックした場合も、結合する受講生コース情報と申込状況は索引で検索すること")
+            .doesNotContain(".tableScan");
+      }
+    }
+  }
+
+  /**
+   * 結合検索の引数に、名前・フリガナ・居住地域の部分一致の条件と検索インデックスで絞り込んだ受講生IDを指定します。
+   * 索引で絞り込める年齢・性別は、部分一致の条件だけの実行計画を確かめるため指定しません。
+   */
+  private static Object[] integratedDetailsArguments(Method method, String[] condition,
+      List<Integer> candidateIds) {
+    Object[] arguments = sampleArguments(method);
+    Parameter[] parameters = method.getParameters();
+    for (int i = 0; i < parameters.length; i++) {
+      switch (parameters[i].getAnnotation(Param.class).value()) {
+        case "name" -> arguments[i] = condition[0];
+        case "furigana" -> arguments[i] = condition[1];
+        case "city" -> arguments[i] = condition[2];
+        case "age", "gender" -> arguments[i] = null;
+        case "candidateIds" -> arguments[i] = candidateIds;
+        default -> {
+        }
+      }
+    }
+    return arguments;
+  }
+
+  private static String explain(Connection connection, MappedStatement mappedStatement,
+      Object parameter) throws Exception {
+    BoundSql boundSql = mappedStatement.getBoundSql(parameter);
+    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+      new DefaultParameterHandler(mappedStatement, parameter, boundSql).setParameters(statement);
+      StringBuilder plan = new StringBuilder();
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.append(resultSet.getString(1)).append('\n');
+        }
+      }
+      return plan.toString();
+    }
+  }
+
+  private static Object[] sampleArguments(Method method) {
+    return Arrays.stream(method.getParameters())
+        .map(StudentRepositoryQueryPlanTest::sampleArgument)
+        .toArray();
+  }
+
+  /**
+   * 引数の型と名前から、索引を使う条件として指定する値を返します。
+   */
+  private static Object sampleArgument(Parameter parameter) {
+    Param param = parameter.getAnnotation(Param.class);
+    String name = param != null ? param.value() : parameter.getName();
+    Class<?> type = parameter.getType();
+
+    if (type == int.class || type == Integer.class) {
+      return 1;
+    }
+    if (type == long.class || type == Long.class) {
+      return 1L;
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return false;
+    }
+    if (type == LocalDateTime.class) {
+      return LocalDateTime.now();
+    }
+    if (type == String.class) {
+      // 部分一致の条件（名前・フリガナ・居住地域）は指定しない
+      return switch (name) {
+        case "courseName" -> "Javaコース";
+        case "gender" -> "男性";
+        case "jobName" -> "courseExpiry";
+        default -> null;
+      };
+    }
+    if (type == List.class) {
+      return List.of(1, 2);
+    }
+    if (type == Status.class) {
+      return Status.受講中;
+    }
+    if (type == Student.class) {
+      Student student = new Student();
+      student.setId(1);
+      student.setName("田中太郎");
+      student.setFurigana("たなかたろう");
+      return student;
+    }
+    if (type == StudentCourse.class) {
+      LocalDateTime now = LocalDateTime.now();
+      return new StudentCourse(1, 1, "Javaコース", now, now.plusYears(1));
+    }
+    if (type == CourseStatusTransition.class) {
+      return new CourseStatusTransition(Status.受講中, null, "Javaコース", Status.本申込, null, null, null);
+    }
+    if (type == StudentFields.class) {
+      return StudentFields.parse("name");
+    }
+    if (type == CourseStatus.class) {
+      return new CourseStatus(1, 1, Status.受講中);
+    }
+    throw new IllegalArgumentException("サンプルの引数を作成できません: " + parameter);
+  }
+}
@@ -1,6 +1,7 @@
 package raisetech.student.management.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -15,8 +16,14 @@ import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import raisetech.student.management.data.CourseStatus;
 import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.data.CourseStatusCount;
 import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.StudentFields;
+import raisetech.student.management.domain.StudentSearchResponse;
 
 @MybatisTest
 class StudentRepositoryTest {
@@ -49,9 +56,58 @@ class StudentRepositoryTest {
   }
 
   @Test
-  void 受講生の全件検索が行えること() {
-    List<Student> actual = sut.search();
-    assertThat(actual.size()).isEqualTo(5);
+  void 受講生IDより後ろの受講生を指定件数までページ検索できること() {
+    List<Student> firstPage = sut.searchStudentPage(null, null, 2, null);
+    assertThat(firstPage).extracting(Student::getId).containsExactly(1, 2);
+
+    List<Student> nextPage = sut.searchStudentPage(null, 2, 2, null);
+    assertThat(nextPage).extracting(Student::getId).containsExactly(3, 4);
+
+    List<Student> lastPage = sut.searchStudentPage(null, 4, 2, null);
+    assertThat(lastPage).extracting(Student::getId).containsExactly(5);
+  }
+
+  @Test
+  void 項目を指定した場合は指定した項目と受講生IDの列のみが読み出されること() {
+    List<Student> page = sut.searchStudentPage(null, null, 2, StudentFields.parse("name"));
+    assertThat(page).extracting(Student::getId).containsExactly(1, 2);
+    assertThat(page.get(0).getName()).isEqualTo("田中太郎");
+    assertThat(page).extracting(Student::getEmail).containsOnlyNulls();
+    assertThat(page).extracting(Student::getRemark).containsOnlyNulls();
+
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("田中", null, null, null, null,
+        null, null, null, StudentFields.parse("name"));
+    Student student = actual.get(0).getStudentDetail().getStudent();
+    assertThat(student.getName()).isEqualTo("田中太郎");
+    assertThat(student.getEmail()).isNull();
+    assertThat(actual.get(0).getCourseDetailList()).hasSize(3);
+  }
+
+  @Test
+  void 削除済みフラグの条件で受講生をページ単位で絞り込めること() {
+    Student student = sut.searchStudent(2);
+    student.setDeleted(true);
+    sut.updateStudent(student);
+
+    assertThat(sut.searchStudentPage(false, null, 2, null)).extracting(Student::getId)
+        .containsExactly(1, 3);
+    assertThat(sut.searchStudentPage(false, 3, 10, null)).extracting(Student::getId)
+        .containsExactly(4, 5);
+  }
+
+  @Test
+  void 複数の受講生IDに紐づく受講生コース情報をまとめて検索できること() {
+    List<StudentCourse> actual = sut.searchStudentCoursesByStudentIds(List.of(1, 3));
+
+    assertThat(actual).extracting(StudentCourse::getId).containsExactly(1, 2, 10, 4, 5);
+  }
+
+  @Test
+  void 複数の受講生コースIDの受講生コース情報を受講生コースID順にまとめて検索できること() {
+    List<StudentCourse> actual = sut.searchStudentCoursesByCourseIds(List.of(10, 4, 1));
+
+    assertThat(actual).extracting(StudentCourse::getId, StudentCourse::getStudentId)
+        .containsExactly(tuple(1, 1), tuple(4, 3), tuple(10, 1));
   }
 
   @Test
@@ -61,6 +117,89 @@ class StudentRepositoryTest {
     assertThat(actual.getName()).isEqualTo("田中太郎"); // 既存の名前に合わせて変更
   }
 
+  @Test
+  void 受講生とコースと申込状況を結合して条件検索が行えること() {
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("田中", null, null, null, null,
+        null, null, null, null);
+
+    assertThat(actual.size()).isEqualTo(1);
+    StudentSearchResponse response = actual.get(0);
+    assertThat(response.getStudentDetail().getStudent().getName()).isEqualTo("田中太郎");
+    assertThat(response.getStudentDetail().getStudentCourseList())
+        .extracting(StudentCourse::getId)
+        .containsExactly(1, 2, 10);
+    assertThat(response.getCourseDetailList()).hasSize(3);
+    assertThat(response.getCourseDetailList())
+        .extracting(courseDetail -> courseDetail.getCourseStatus().getStatus())
+        .containsOnly(Status.受講中);
+  }
+
+  @Test
+  void 検索インデックスで絞り込んだ受講生にも部分一致の条件が確かめ直されること() {
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("田中", null, null, null, null,
+        null, null, List.of(1, 2), null);
+
+    assertThat(actual)
+        .extracting(response -> response.getStudentDetail().getStudent().getId())
+        .containsExactly(1);
+  }
+
+  @Test
+  void コース名の条件で受講生ごとのコースが絞り込まれること() {
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails(null, null, null, null, null,
+        "プログラミング基礎", null, null, null);
+
+    assertThat(actual.size()).isEqualTo(5);
+    assertThat(actual.get(0).getStudentDetail().getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("プログラミング基礎");
+    // 受講生ID 4 は該当するコースがないため、空のコース一覧となる
+    assertThat(actual.get(3).getStudentDetail().getStudentCourseList()).isEmpty();
+    assertThat(actual.get(3).getCourseDetailList()).isEmpty();
+  }
+
+  @Test
+  void 申込状況の条件に合わないコースは申込状況なしで返ること() {
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails(null, null, null, 22, null,
+        null, Status.仮申込, null, null);
+
+    assertThat(actual.size()).isEqualTo(1);
+    assertThat(actual.get(0).getCourseDetailList())
+        .extracting(courseDetail -> courseDetail.getCourseStatus().getStatus())
+        .containsExactly(Status.仮申込, Status.仮申込);
+
+    List<StudentSearchResponse> unmatched = sut.searchIntegratedDetails("田中", null, null, null,
+        null, null, Status.仮申込, null, null);
+    assertThat(unmatched.get(0).getCourseDetailList())
+        .extracting(CourseDetail::getCourseStatus)
+        .containsOnlyNulls();
+  }
+
+  @Test
+  void 登録した受講生をフリガナの検索キーで検索できること() {
+    Student student = createStudent();
+    sut.registerStudent(student);
+
+    // 登録時のフリガナはカタカナ（エナミコウジ）、検索キーはひらがなに正規化されている
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails(null, "なみこう", null, null,
+        null, null, null, null, null);
+
+    assertThat(actual)
+        .extracting(response -> response.getStudentDetail().getStudent().getId())
+        .containsExactly(student.getId());
+  }
+
+  @Test
+  void 候補の受講生IDを指定した場合は部分一致の代わりに受講生IDで絞り込まれること() {
+    // 名前の条件は検索インデックスで評価済みのため、SQLでは使われない
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("該当なし", null, null, null,
+        "女性", null, null, List.of(1, 2, 4), null);
+
+    assertThat(actual)
+        .extracting(response -> response.getStudentDetail().getStudent().getId())
+        .containsExactly(2, 4);
+  }
+
   @Test
   void 受講生の登録が行えること() {
     Student student = new Student();
@@ -76,11 +215,39 @@ class StudentRepositoryTest {
 
     sut.registerStudent(student);
 
-    List<Student> actual = sut.search();
+    List<Student> actual = sut.searchStudentPage(null, null, 100, null);
 
     assertThat(actual.size()).isEqualTo(6);
   }
 
+  @Test
+  void 受講生と受講生コースと申込状況をまとめて登録でき採番されたIDが設定されること() {
+    Student student1 = createStudent();
+    Student student2 = createStudent();
+    student2.setEmail("testYYY@example.com");
+
+    sut.registerStudents(List.of(student1, student2));
+
+    assertThat(student1.getId()).isPositive();
+    assertThat(student2.getId()).isGreaterThan(student1.getId());
+    assertThat(sut.searchStudentPage(null, null, 100, null)).hasSize(7);
+
+    StudentCourse studentCourse1 = createStudentCourse(student1);
+    StudentCourse studentCourse2 = createStudentCourse(student2);
+    sut.registerStudentCourses(List.of(studentCourse1, studentCourse2));
+
+    assertThat(sut.searchStudentCourse(student2.getId()))
+        .extracting(StudentCourse::getId)
+        .containsExactly(studentCourse2.getId());
+
+    CourseStatus courseStatus1 = new CourseStatus(0, studentCourse1.getId(), Status.仮申込);
+    CourseStatus courseStatus2 = new CourseStatus(0, studentCourse2.getId(), Status.仮申込);
+    sut.registerCourseStatuses(List.of(courseStatus1, courseStatus2));
+
+    assertThat(courseStatus2.getId()).isGreaterThan(courseStatus1.getId());
+    assertThat(sut.searchCourseStatus(studentCourse2.getId()).getStatus()).isEqualTo(Status.仮申込);
+  }
+
   @Test
   void 受講生の更新が行えること() {
     Student student = sut.searchStudent(1); // 1はテスト用の既存IDに変更
@@ -168,6 +335,80 @@ class StudentRepositoryTest {
 
 
 
+  @Test
+  void コース名と変更前の申込状況に合うコースの申込状況をまとめて変更できること() {
+    CourseStatusTransition transition = new CourseStatusTransition(Status.受講中, null,
+        "プログラミング基礎", Status.仮申込, null, null, null);
+
+    assertThat(sut.lockCourseStatusesForTransition(transition, null)).containsExactlyInAnyOrder(3, 7);
+    assertThat(sut.countCourseStatusesForTransition(transition, null))
+        .extracting(CourseStatusCount::getCourseName, CourseStatusCount::getStatus,
+            CourseStatusCount::getCount)
+        .containsExactly(tuple("プログラミング基礎", Status.仮申込, 2L));
+    assertThat(sut.updateCourseStatusesForTransition(transition, null)).isEqualTo(2);
+
+    assertThat(sut.searchCourseStatus(3).getStatus()).isEqualTo(Status.受講中);
+    assertThat(sut.searchCourseStatus(7).getStatus()).isEqualTo(Status.受講中);
+    assertThat(sut.searchCourseStatus(1).getStatus()).isEqualTo(Status.受講中);
+    assertThat(sut.searchCourseStatus(5).getStatus()).isEqualTo(Status.仮申込);
+  }
+
+  @Test
+  void コース開始日の範囲と受講生コースIDに合うコースの申込状況をまとめて変更できること() {
+    CourseStatusTransition byStartDate = new CourseStatusTransition(Status.本申込, null, null, null,
+        LocalDateTime.of(2024, 7, 1, 0, 0), LocalDateTime.of(2024, 8, 1, 0, 0), null);
+    assertThat(sut.updateCourseStatusesForTransition(byStartDate, null)).isEqualTo(2);
+    assertThat(sut.searchCourseStatus(2).getStatus()).isEqualTo(Status.本申込);
+    assertThat(sut.searchCourseStatus(5).getStatus()).isEqualTo(Status.本申込);
+
+    CourseStatusTransition byCourseIds = new CourseStatusTransition(Status.本申込, List.of(2, 4, 6),
+        null, null, null, null, null);
+    // 変更後の申込状況になっているコースは対象に含まれない
+    assertThat(sut.countCourseStatusesForTransition(byCourseIds, byCourseIds.getCourseIds()))
+        .extracting(CourseStatusCount::getCourseName, CourseStatusCount::getStatus,
+            CourseStatusCount::getCount)
+        .containsExactly(tuple("モバイルアプリ開発", Status.受講終了, 1L));
+    assertThat(sut.updateCourseStatusesForTransition(byCourseIds, byCourseIds.getCourseIds()))
+        .isEqualTo(1);
+    assertThat(sut.searchCourseStatus(6).getStatus()).isEqualTo(Status.本申込);
+  }
+
+  @Test
+  void コース終了日の条件に合わないコースは受講生コースIDを指定しても変更されないこと() {
+    CourseStatusTransition transition = new CourseStatusTransition(Status.受講終了, List.of(1, 2, 10),
+        null, Status.受講中, null, null, LocalDateTime.of(2024, 8, 15, 0, 0));
+
+    assertThat(sut.lockCourseStatusesForTransition(transition, transition.getCourseIds()))
+        .containsExactlyInAnyOrder(1, 10);
+    assertThat(sut.updateCourseStatusesForTransition(transition, transition.getCourseIds()))
+        .isEqualTo(2);
+    assertThat(sut.searchCourseStatus(1).getStatus()).isEqualTo(Status.受講終了);
+    assertThat(sut.searchCourseStatus(10).getStatus()).isEqualTo(Status.受講終了);
+    assertThat(sut.searchCourseStatus(2).getStatus()).isEqualTo(Status.受講中);
+  }
+
+  @Test
+  void 終了日を過ぎた受講中のコースを受講生コースID順に指定件数ずつ検索できること() {
+    LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    assertThat(sut.searchExpiredCourseIds(0, now, 2)).containsExactly(1, 2);
+    assertThat(sut.searchExpiredCourseIds(2, now, 2)).containsExactly(10);
+    assertThat(sut.searchExpiredCourseIds(10, now, 2)).isEmpty();
+    assertThat(sut.searchExpiredCourseIds(0, LocalDateTime.of(2024, 7, 1, 0, 0), 10))
+        .containsExactly(1);
+  }
+
+  @Test
+  void 定期実行する処理の進捗を登録し更新できること() {
+    assertThat(sut.searchBatchCheckpoint("courseExpiry")).isNull();
+
+    sut.saveBatchCheckpoint("courseExpiry", 5, LocalDateTime.now());
+    assertThat(sut.searchBatchCheckpoint("courseExpiry")).isEqualTo(5);
+
+    sut.saveBatchCheckpoint("courseExpiry", 0, LocalDateTime.now());
+    assertThat(sut.searchBatchCheckpoint("courseExpiry")).isZero();
+  }
+
   @Test
   void コース申込状況の全件検索が行えること() {
     // テスト対象メソッドを実行
@@ -177,6 +418,24 @@ class StudentRepositoryTest {
     assertEquals(10, actualList.size());
   }
 
+  @Test
+  void コース詳細一覧の状態を表す値が変更の記録と配信で変わり元の値に戻らないこと() {
+    String initial = sut.searchCourseListVersion();
+    assertThat(sut.searchCourseListVersion()).isEqualTo(initial);
+
+    sut.registerStudentChangeOutbox(List.of(new StudentChangeEvent(
+        StudentChangeEvent.Type.申込状況変更, 1, 1, LocalDateTime.now())));
+    String recorded = sut.searchCourseListVersion();
+    assertThat(recorded).isNotEqualTo(initial);
+
+    List<StudentChangeEvent> events = sut.searchStudentChangeOutbox(100);
+    events.forEach(event -> event.setPublishedAt(LocalDateTime.now()));
+    sut.registerStudentChangeFeed(events);
+    sut.deleteStudentChangeOutbox(events.stream().map(StudentChangeEvent::getId).toList());
+
+    assertThat(sut.searchCourseListVersion()).isNotIn(initial, recorded);
+  }
+
   @Test
   void コース申込状況の更新が行えること() {
     String courseId = "1"; // コースIDはString型で定義されている
@@ -195,4 +454,46 @@ class StudentRepositoryTest {
     // 実際のステータスが "本申込" であることを確認
     assertEquals(Status.本申込, actual.getStatus());
   }
+
+  @Test
+  void 受講生の更新でバージョン番号が増え古いバージョン番号では更新されないこと() {
+    Student first = sut.searchStudent(1);
+    Student second = sut.searchStudent(1);
+    first.setCity("札幌");
+    second.setCity("仙台");
+
+    assertThat(sut.updateStudent(first)).isEqualTo(1);
+    assertThat(sut.updateStudent(second)).isZero();
+
+    Student actual = sut.searchStudent(1);
+    assertThat(actual.getCity()).isEqualTo("札幌");
+    assertThat(actual.getVersion()).isEqualTo(second.getVersion() + 1);
+  }
+
+  @Test
+  void 受講生コース情報と申込状況も古いバージョン番号では更新されないこと() {
+    StudentCourse studentCourse = sut.searchStudentCourseByCourseId(1);
+    studentCourse.setCourseName("Javaコース");
+    assertThat(sut.updateStudentCourse(studentCourse)).isEqualTo(1);
+    assertThat(sut.updateStudentCourse(studentCourse)).isZero();
+    assertThat(sut.searchStudentCourseByCourseId(1).getVersion()).isEqualTo(studentCourse.getVersion() + 1);
+
+    CourseStatus courseStatus = sut.searchCourseStatus(1);
+    courseStatus.setStatus(Status.受講終了);
+    assertThat(sut.updateCourseStatus(courseStatus)).isEqualTo(1);
+    assertThat(sut.updateCourseStatus(courseStatus)).isZero();
+    assertThat(sut.searchCourseStatus(1).getVersion()).isEqualTo(courseStatus.getVersion() + 1);
+  }
+
+  @Test
+  void 申込状況の一括変更でもバージョン番号が増えること() {
+    CourseStatus before = sut.searchCourseStatus(3);
+
+    sut.updateCourseStatusesForTransition(
+        new CourseStatusTransition(Status.本申込, null, null, Status.仮申込, null, null, null), List.of(3));
+
+    CourseStatus actual = sut.searchCourseStatus(3);
+    assertThat(actual.getStatus()).isEqualTo(Status.本申込);
+    assertThat(actual.getVersion()).isEqualTo(before.getVersion() + 1);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.CourseStatusTransitionResult;
+import raisetech.student.management.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CourseExpirySweeperTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private StudentService studentService;
+
+  private CourseExpirySweeper sut;
+
+  @BeforeEach
+  void before() {
+    sut = new CourseExpirySweeper(repository, studentService, mock(PlatformTransactionManager.class),
+        2, 0);
+  }
+
+  private void transitionReturnsRequestedSize() {
+    when(studentService.transitionCourseStatuses(any())).thenAnswer(invocation -> {
+      CourseStatusTransition transition = invocation.getArgument(0);
+      return new CourseStatusTransitionResult(transition.getCourseIds().size(), List.of());
+    });
+  }
+
+  @Test
+  void 記録した進捗の続きからバッチごとに受講終了に変更し最後まで処理したら進捗を0に戻すこと() {
+    when(repository.searchBatchCheckpoint(CourseExpirySweeper.JOB_NAME)).thenReturn(10);
+    when(repository.searchExpiredCourseIds(10, NOW, 2)).thenReturn(List.of(11, 12));
+    when(repository.searchExpiredCourseIds(12, NOW, 2)).thenReturn(List.of(15));
+    when(repository.searchExpiredCourseIds(15, NOW, 2)).thenReturn(List.of());
+    transitionReturnsRequestedSize();
+
+    int actual = sut.sweep(NOW);
+
+    assertEquals(3, actual);
+    ArgumentCaptor<CourseStatusTransition> transitions =
+        ArgumentCaptor.forClass(CourseStatusTransition.class);
+    verify(studentService, times(2)).transitionCourseStatuses(transitions.capture());
+    assertThat(transitions.getAllValues()).extracting(CourseStatusTransition::getCourseIds)
+        .containsExactly(List.of(11, 12), List.of(15));
+    assertThat(transitions.getAllValues()).allSatisfy(transition -> {
+      assertThat(transition.getToStatus()).isEqualTo(CourseStatus.Status.受講終了);
+      assertThat(transition.getCurrentStatus()).isEqualTo(CourseStatus.Status.受講中);
+      assertThat(transition.getEndDateBefore()).isEqualTo(NOW);
+    });
+    verify(repository).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(12), any());
+    verify(repository).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(15), any());
+    verify(repository).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(0), any());
+  }
+
+  @Test
+  void バッチの処理に失敗した場合はそれまでの進捗が残り次回はその続きから処理すること() {
+    when(repository.searchBatchCheckpoint(CourseExpirySweeper.JOB_NAME)).thenReturn(null, 2);
+    when(repository.searchExpiredCourseIds(0, NOW, 2)).thenReturn(List.of(1, 2));
+    when(repository.searchExpiredCourseIds(2, NOW, 2))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(List.of());
+    transitionReturnsRequestedSize();
+
+    assertThrows(QueryTimeoutException.class, () -> sut.sweep(NOW));
+    verify(repository).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(2), any());
+    verify(repository, never()).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(0), any());
+
+    assertEquals(0, sut.sweep(NOW));
+    verify(repository, times(1)).searchExpiredCourseIds(eq(0), any(), anyInt());
+    verify(repository).saveBatchCheckpoint(eq(CourseExpirySweeper.JOB_NAME), eq(0), any());
+  }
+
+  @Test
+  void 変更件数とバッチ数と進捗がメトリクスとして公開されること() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+    when(repository.searchExpiredCourseIds(0, NOW, 2)).thenReturn(List.of(3, 4));
+    when(repository.searchExpiredCourseIds(4, NOW, 2)).thenReturn(List.of(7));
+    when(repository.searchExpiredCourseIds(7, NOW, 2)).thenReturn(List.of());
+    transitionReturnsRequestedSize();
+
+    sut.sweep(NOW);
+
+    assertThat(registry.get("student.course-expiry.updated").functionCounter().count()).isEqualTo(3.0);
+    assertThat(registry.get("student.course-expiry.batches").functionCounter().count()).isEqualTo(2.0);
+    assertThat(registry.get("student.course-expiry.runs").functionCounter().count()).isEqualTo(1.0);
+    assertThat(registry.get("student.course-expiry.checkpoint").gauge().value()).isZero();
+    assertThat(registry.get("student.course-expiry.running").gauge().value()).isZero();
+  }
+}
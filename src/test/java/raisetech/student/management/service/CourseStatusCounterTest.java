@@ -0,0 +1,140 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatus.Status;
+import raisetech.student.management.data.CourseStatusCount;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.repository.StudentRepository;
+
+@MybatisTest
+class CourseStatusCounterTest {
+
+  @Autowired
+  private StudentRepository repository;
+
+  private CourseStatusCounter sut;
+
+  @BeforeEach
+  void before() {
+    sut = new CourseStatusCounter(repository);
+    sut.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void 起動時にデータベースの集計からコース名と申込状況ごとの件数が作成されること() {
+    List<CourseStatusSummary> actual = sut.summarize();
+
+    assertThat(actual).extracting(CourseStatusSummary::getCourseName)
+        .containsExactly("Web開発入門", "データベース入門", "プログラミング基礎", "モバイルアプリ開発");
+    CourseStatusSummary programming = actual.get(2);
+    assertThat(programming.getStatusCounts()).containsEntry(Status.仮申込, 2L)
+        .containsEntry(Status.本申込, 0L)
+        .containsEntry(Status.受講中, 1L)
+        .containsEntry(Status.受講終了, 0L);
+  }
+
+  @Test
+  void 登録と変更を反映した件数がデータベースの集計と一致すること() {
+    LocalDateTime now = LocalDateTime.now();
+    StudentCourse studentCourse = new StudentCourse(0, 1, "Javaコース", now, now.plusYears(1));
+    repository.registerStudentCourse(studentCourse);
+    repository.registerCourseStatus(new CourseStatus(0, studentCourse.getId(), Status.仮申込));
+    sut.increment("Javaコース", Status.仮申込);
+
+    CourseStatus previous = repository.searchCourseStatus(3);
+    repository.updateCourseStatus(new CourseStatus(0, 3, Status.本申込));
+    sut.changeStatus("プログラミング基礎", previous.getStatus(), Status.本申込);
+
+    StudentCourse renamed = repository.searchStudentCourseByCourseId(6);
+    renamed.setCourseName("Javaコース");
+    repository.updateStudentCourse(renamed);
+    sut.changeCourseName("モバイルアプリ開発", "Javaコース", repository.searchCourseStatus(6).getStatus());
+
+    CourseStatusCounter expected = new CourseStatusCounter(repository);
+    expected.afterSingletonsInstantiated();
+    assertThat(sut.summarize()).usingRecursiveComparison().isEqualTo(expected.summarize());
+  }
+
+  @Test
+  void 作り直しが予約された場合は定期処理でデータベースの集計から作り直されること() {
+    sut.rebuild(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 1)));
+
+    sut.rebuildIfStale();
+    assertThat(sut.summarize()).extracting(CourseStatusSummary::getCourseName)
+        .containsExactly("Javaコース");
+
+    sut.markStale();
+    sut.rebuildIfStale();
+    assertThat(sut.summarize()).extracting(CourseStatusSummary::getCourseName)
+        .containsExactly("Web開発入門", "データベース入門", "プログラミング基礎", "モバイルアプリ開発");
+  }
+
+  @Test
+  void 集計中に増減が反映された場合は作り直さず次の定期処理で作り直すこと() {
+    StudentRepository racingRepository = mock(StudentRepository.class);
+    CourseStatusCounter counter = new CourseStatusCounter(racingRepository);
+    when(racingRepository.countCourseStatuses())
+        .thenReturn(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 1)))
+        .thenAnswer(invocation -> {
+          // 集計に含まれたかどうか分からない増減
+          counter.increment("Javaコース", Status.仮申込);
+          return List.of(new CourseStatusCount("Javaコース", Status.仮申込, 2));
+        })
+        .thenReturn(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 2)));
+    counter.afterSingletonsInstantiated();
+
+    counter.markStale();
+    counter.rebuildIfStale();
+    assertThat(counter.summarize().get(0).getStatusCounts()).containsEntry(Status.仮申込, 2L);
+
+    counter.rebuildIfStale();
+    assertThat(counter.summarize().get(0).getStatusCounts()).containsEntry(Status.仮申込, 2L);
+    verify(racingRepository, times(3)).countCourseStatuses();
+  }
+
+  @Test
+  void コミット待ちの増減がある間は作り直さず増減はコミット後に反映されること() {
+    sut.rebuild(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 1)));
+    // テストのトランザクションはコミットされないため、コミット待ちのまま残る
+    sut.applyAfterCommit(() -> sut.increment("Javaコース", Status.仮申込));
+
+    assertThat(sut.rebuild()).isFalse();
+    assertThat(sut.summarize()).extracting(CourseStatusSummary::getCourseName)
+        .containsExactly("Javaコース");
+    assertThat(sut.summarize().get(0).getStatusCounts()).containsEntry(Status.仮申込, 1L);
+  }
+
+  @Test
+  void 全ての申込状況が0件になったコース名は集計結果に含まれないこと() {
+    sut.rebuild(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 1)));
+
+    sut.changeCourseName("Javaコース", "Pythonコース", Status.仮申込);
+
+    assertThat(sut.summarize()).extracting(CourseStatusSummary::getCourseName)
+        .containsExactly("Pythonコース");
+  }
+
+  @Test
+  void 申込状況の変更で件数が変更前から変更後へ移ること() {
+    sut.rebuild(List.of(new CourseStatusCount("Javaコース", Status.仮申込, 2)));
+
+    sut.changeStatus("Javaコース", Status.仮申込, Status.受講中);
+
+    assertThat(sut.summarize().get(0).getStatusCounts())
+        .containsEntry(Status.仮申込, 1L)
+        .containsEntry(Status.受講中, 1L);
+  }
+}
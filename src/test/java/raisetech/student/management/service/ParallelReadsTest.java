@@ -0,0 +1,131 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+class ParallelReadsTest {
+
+  private final ParallelReads sut = new ParallelReads(new SimpleAsyncTaskExecutor());
+
+  @Test
+  void 互いに依存しない読み込みが並行して実行され結果が結合されること() {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    String actual = sut.join(
+        () -> {
+          awaitOther(bothStarted);
+          return "受講生コース";
+        },
+        () -> {
+          awaitOther(bothStarted);
+          return 2;
+        },
+        (first, second) -> first + second);
+
+    assertThat(actual).isEqualTo("受講生コース2");
+  }
+
+  @Test
+  void 一方の読み込みが失敗した場合はその例外がスローされること() {
+    IllegalStateException failure = new IllegalStateException("DBエラー");
+
+    assertThatThrownBy(() -> sut.join(
+        () -> {
+          throw failure;
+        },
+        () -> "受講生",
+        (first, second) -> second))
+        .isSameAs(failure);
+  }
+
+  @Test
+  void 先に渡した読み込みが失敗した場合は後に渡した読み込みの完了を待たずに取り消されること() throws Exception {
+    assertCancelledOnFailure(true);
+  }
+
+  @Test
+  void 後に渡した読み込みが失敗した場合は先に渡した読み込みの完了を待たずに取り消されること() throws Exception {
+    assertCancelledOnFailure(false);
+  }
+
+  private void assertCancelledOnFailure(boolean firstFails) throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    AtomicBoolean interrupted = new AtomicBoolean();
+    IllegalStateException failure = new IllegalStateException("DBエラー");
+    Supplier<String> slow = () -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      } finally {
+        finished.countDown();
+      }
+      return "受講生コース";
+    };
+    Supplier<String> failing = () -> {
+      awaitLatch(started);
+      throw failure;
+    };
+
+    assertThatThrownBy(() -> sut.join(
+        firstFails ? failing : slow,
+        firstFails ? slow : failing,
+        (first, second) -> first))
+        .isSameAs(failure);
+
+    assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(interrupted).isTrue();
+  }
+
+  @Test
+  void 結果の待機中に割り込まれた場合は取り消し扱いとなり割り込み状態が保持されること() {
+    Thread.currentThread().interrupt();
+    try {
+      assertThatThrownBy(() -> sut.join(
+          () -> {
+            sleepUntilInterrupted();
+            return "受講生コース";
+          },
+          () -> "受講生",
+          (first, second) -> first))
+          .isInstanceOf(CancellationException.class);
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  private static void sleepUntilInterrupted() {
+    try {
+      Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitOther(CountDownLatch latch) {
+    latch.countDown();
+    awaitLatch(latch);
+  }
+
+  private static void awaitLatch(CountDownLatch latch) {
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("もう一方の読み込みが開始されませんでした");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.data.CourseStatus.Status;
+
+class StudentActivityStatsTest {
+
+  private final AtomicLong millis = new AtomicLong(1_000_000);
+
+  private final StudentActivityStats sut = new StudentActivityStats(millis::get);
+
+  @Test
+  void 直近の区間に含まれる登録数から1秒あたりの登録数が計算されること() {
+    for (int i = 0; i < 30; i++) {
+      sut.recordRegistration();
+    }
+    millis.addAndGet(59_000);
+    for (int i = 0; i < 30; i++) {
+      sut.recordRegistration();
+    }
+
+    assertThat(sut.registrationsPerSecond(Duration.ofMinutes(1))).isEqualTo(1.0);
+    assertThat(sut.registrationsPerSecond(Duration.ofSeconds(10))).isEqualTo(3.0);
+
+    millis.addAndGet(1_000);
+    assertThat(sut.registrationsPerSecond(Duration.ofMinutes(1))).isEqualTo(0.5);
+    assertThat(sut.registrationCount()).isEqualTo(60);
+  }
+
+  @Test
+  void 区間数を一周した後は古い区間の登録数が置き換えられること() {
+    sut.recordRegistration();
+    millis.addAndGet(StudentActivityStats.MAX_WINDOW_SECONDS * 1000L);
+    sut.recordRegistration();
+
+    assertThat(sut.registrationsPerSecond(Duration.ofSeconds(1))).isEqualTo(1.0);
+    assertThat(sut.registrationsPerSecond(Duration.ofSeconds(StudentActivityStats.MAX_WINDOW_SECONDS)))
+        .isEqualTo(1.0 / StudentActivityStats.MAX_WINDOW_SECONDS);
+  }
+
+  @Test
+  void 範囲外の区間を指定した場合は例外が発生すること() {
+    assertThatThrownBy(() -> sut.registrationsPerSecond(Duration.ofMinutes(10)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void 申込状況の変更数とコース名ごとの受講登録数が記録されること() {
+    sut.recordStatusChange(Status.仮申込, Status.本申込);
+    sut.recordStatusChange(Status.仮申込, Status.本申込);
+    sut.recordStatusChange(Status.本申込, Status.受講中);
+    sut.recordEnrollment("Javaコース");
+    sut.recordEnrollment("Javaコース");
+    sut.recordEnrollment("AWSコース");
+
+    assertThat(sut.statusChangeCount(Status.仮申込, Status.本申込)).isEqualTo(2);
+    assertThat(sut.statusChangeCount(Status.本申込, Status.受講中)).isEqualTo(1);
+    assertThat(sut.statusChangeCount(Status.受講中, Status.本申込)).isZero();
+    assertThat(sut.enrollmentCounts()).containsExactly(
+        entry("AWSコース", 1L), entry("Javaコース", 2L));
+  }
+
+  @Test
+  void 複数のスレッドから同時に記録しても件数が失われないこと() throws Exception {
+    int threads = 16;
+    int recordsPerThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < recordsPerThread; i++) {
+            sut.recordRegistration();
+            sut.recordEnrollment("Javaコース");
+            sut.recordStatusChange(Status.仮申込, Status.本申込);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long expected = (long) threads * recordsPerThread;
+    assertThat(sut.registrationCount()).isEqualTo(expected);
+    assertThat(sut.registrationsPerSecond(Duration.ofSeconds(1))).isEqualTo((double) expected);
+    assertThat(sut.enrollmentCounts()).containsEntry("Javaコース", expected);
+    assertThat(sut.statusChangeCount(Status.仮申込, Status.本申込)).isEqualTo(expected);
+  }
+
+  @Test
+  void 登録数と申込状況の変更数がメトリクスとして公開されること() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    sut.bindTo(registry);
+
+    sut.recordRegistration();
+    sut.recordStatusChange(Status.受講中, Status.受講終了);
+
+    assertThat(registry.get("student.registrations").functionCounter().count()).isEqualTo(1.0);
+    assertThat(registry.get("student.registrations.rate").tag("window", "1m").gauge().value())
+        .isEqualTo(1.0 / 60);
+    assertThat(registry.get("student.status.changes").tag("from", "受講中").tag("to", "受講終了")
+        .functionCounter().count()).isEqualTo(1.0);
+  }
+}
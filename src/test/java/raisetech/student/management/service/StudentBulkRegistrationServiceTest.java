@@ -0,0 +1,160 @@
+package raisetech.student.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import jakarta.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.BulkRegistrationResult;
+import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkRegistrationServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private StudentDetailCache studentDetailCache;
+
+  @Mock
+  private StudentSearchIndex studentSearchIndex;
+
+  @Mock
+  private CourseStatusCounter courseStatusCounter;
+
+  @Mock
+  private StudentActivityStats studentActivityStats;
+
+  @Mock
+  private StudentDocumentStore studentDocumentStore;
+
+  private StudentBulkRegistrationService sut;
+
+  private final AtomicInteger sequence = new AtomicInteger();
+
+  @BeforeEach
+  void before() {
+    sut = new StudentBulkRegistrationService(repository, studentDetailCache, studentSearchIndex,
+        courseStatusCounter, studentActivityStats, studentDocumentStore,
+        mock(PlatformTransactionManager.class),
+        Validation.buildDefaultValidatorFactory().getValidator(), 2);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void assignGeneratedIds() {
+    doAnswer(invocation -> {
+      ((List<Student>) invocation.getArgument(0)).forEach(student -> student.setId(sequence.incrementAndGet()));
+      return null;
+    }).when(repository).registerStudents(anyList());
+    doAnswer(invocation -> {
+      ((List<StudentCourse>) invocation.getArgument(0)).forEach(course -> course.setId(sequence.incrementAndGet()));
+      return null;
+    }).when(repository).registerStudentCourses(anyList());
+  }
+
+  private static StudentDetail createStudentDetail(String name) {
+    Student student = new Student();
+    student.setName(name);
+    student.setFurigana("フリガナ");
+    student.setNickname("ニックネーム");
+    student.setEmail("test@example.com");
+    student.setCity("大阪");
+    student.setAge(30);
+    student.setGender("female");
+    StudentCourse studentCourse = new StudentCourse(0, 0, "Javaコース", null, null);
+    return new StudentDetail(student, new ArrayList<>(List.of(studentCourse)));
+  }
+
+  @Test
+  void チャンクサイズごとにまとめて登録され全ての受講生IDが返されること() {
+    assignGeneratedIds();
+    List<StudentDetail> studentDetails = List.of(createStudentDetail("受講生1"),
+        createStudentDetail("受講生2"), createStudentDetail("受講生3"));
+
+    BulkRegistrationResult actual = sut.registerStudents(studentDetails, null);
+
+    verify(repository, times(2)).registerStudents(anyList());
+    verify(repository, times(2)).registerStudentCourses(anyList());
+    verify(repository, times(2)).registerCourseStatuses(anyList());
+    verify(studentDocumentStore, times(2)).refresh(anyList());
+    verify(repository, times(2)).registerStudentChangeOutbox(anyList());
+    assertEquals(3, actual.getRegisteredCount());
+    assertEquals(0, actual.getFailedCount());
+    assertEquals(3, actual.getStudentIds().size());
+    StudentCourse registeredCourse = studentDetails.get(0).getStudentCourseList().get(0);
+    assertEquals(studentDetails.get(0).getStudent().getId(), registeredCourse.getStudentId());
+    assertEquals(registeredCourse.getEndDate(), registeredCourse.getStartDate().plusYears(1));
+  }
+
+  @Test
+  void 入力チェックに掛かった要素は登録されずにエラーとして返されること() {
+    assignGeneratedIds();
+    StudentDetail invalid = createStudentDetail("受講生2");
+    invalid.getStudent().setEmail("メールアドレスではない");
+    List<StudentDetail> studentDetails = List.of(createStudentDetail("受講生1"), invalid);
+
+    BulkRegistrationResult actual = sut.registerStudents(studentDetails, 10);
+
+    verify(repository, times(1)).registerStudents(List.of(studentDetails.get(0).getStudent()));
+    assertEquals(1, actual.getRegisteredCount());
+    assertEquals(1, actual.getFailedCount());
+    assertNull(actual.getStudentIds().get(1));
+    assertEquals(1, actual.getErrors().get(0).getIndex());
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void 登録に失敗したチャンクは1件ずつ登録し直され失敗した要素だけがエラーになること() {
+    List<StudentDetail> studentDetails = List.of(createStudentDetail("受講生1"),
+        createStudentDetail("重複"));
+    doAnswer(invocation -> {
+      List<Student> students = invocation.getArgument(0);
+      if (students.stream().anyMatch(student -> student.getName().equals("重複"))) {
+        throw new DataIntegrityViolationException("Duplicate entry");
+      }
+      students.forEach(student -> student.setId(sequence.incrementAndGet()));
+      return null;
+    }).when(repository).registerStudents(anyList());
+
+    BulkRegistrationResult actual = sut.registerStudents(studentDetails, null);
+
+    verify(repository, times(3)).registerStudents(anyList());
+    verify(repository, times(1)).registerCourseStatuses(anyList());
+    assertEquals(1, actual.getRegisteredCount());
+    assertEquals(List.of(1), actual.getStudentIds().subList(0, 1));
+    assertNull(actual.getStudentIds().get(1));
+    assertEquals(1, actual.getErrors().get(0).getIndex());
+    assertEquals("Duplicate entry", actual.getErrors().get(0).getMessage());
+  }
+
+  @Test
+  void 全ての要素が入力チェックに掛かった場合は登録処理を行わないこと() {
+    StudentDetail invalid = createStudentDetail("");
+
+    BulkRegistrationResult actual = sut.registerStudents(List.of(invalid), null);
+
+    verify(repository, never()).registerStudents(anyList());
+    verify(repository, never()).registerCourseStatuses(anyList());
+    assertEquals(0, actual.getRegisteredCount());
+    assertEquals(1, actual.getFailedCount());
+  }
+}
@@ -0,0 +1,93 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.DeferredResult;
+import raisetech.student.management.data.StudentChangeEvent;
+import raisetech.student.management.domain.StudentChangeFeedPage;
+import raisetech.student.management.repository.StudentRepository;
+
+@MybatisTest
+class StudentChangeFeedTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 11, 7, 14, 0);
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private StudentChangeFeed sut;
+
+  private long lastOffset;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentChangeFeed(repository, transactionManager, 2, false);
+    sut.publish();
+    lastOffset = sut.read(0, StudentChangeFeed.MAX_LIMIT).getNextOffset();
+  }
+
+  @Test
+  void 送信待ちの変更が配信した順に配信番号を振られて続きから取得できること() {
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.受講生登録, 1, null, NOW),
+        new StudentChangeEvent(StudentChangeEvent.Type.受講生更新, 2, null, NOW)));
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.申込状況変更, 1, 1, NOW)));
+
+    assertThat(sut.publish()).isEqualTo(3);
+    assertThat(sut.publish()).isZero();
+
+    StudentChangeFeedPage first = sut.read(lastOffset, 2);
+    assertThat(first.getEvents())
+        .extracting(StudentChangeEvent::getEventType, StudentChangeEvent::getStudentId,
+            StudentChangeEvent::getCourseId)
+        .containsExactly(
+            tuple(StudentChangeEvent.Type.受講生登録, 1, null),
+            tuple(StudentChangeEvent.Type.受講生更新, 2, null));
+    assertThat(first.getNextOffset()).isEqualTo(first.getEvents().get(1).getFeedOffset());
+
+    StudentChangeFeedPage rest = sut.read(first.getNextOffset(), 2);
+    assertThat(rest.getEvents())
+        .extracting(StudentChangeEvent::getEventType, StudentChangeEvent::getStudentId,
+            StudentChangeEvent::getCourseId)
+        .containsExactly(tuple(StudentChangeEvent.Type.申込状況変更, 1, 1));
+    assertThat(sut.read(rest.getNextOffset(), 2).getEvents()).isEmpty();
+  }
+
+  @Test
+  void 新しい変更がない場合は応答を保留し配信されると変更が返ること() {
+    DeferredResult<StudentChangeFeedPage> result = sut.poll(lastOffset, 100, Duration.ofSeconds(30));
+    assertThat(result.hasResult()).isFalse();
+
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.受講生更新, 3, null, NOW)));
+    sut.publish();
+
+    StudentChangeFeedPage actual = (StudentChangeFeedPage) result.getResult();
+    assertThat(actual.getEvents())
+        .extracting(StudentChangeEvent::getStudentId)
+        .containsExactly(3);
+    assertThat(actual.getNextOffset()).isGreaterThan(lastOffset);
+  }
+
+  @Test
+  void 待機時間に0を指定した場合は変更がなくても空ですぐに返ること() {
+    DeferredResult<StudentChangeFeedPage> result = sut.poll(lastOffset, 100, Duration.ZERO);
+
+    StudentChangeFeedPage actual = (StudentChangeFeedPage) result.getResult();
+    assertThat(actual.getEvents()).isEmpty();
+    assertThat(actual.getNextOffset()).isEqualTo(lastOffset);
+  }
+}
@@ -0,0 +1,158 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.domain.StudentDetail;
+
+class StudentDetailCacheTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = nanos::get;
+
+  @AfterEach
+  void after() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static StudentDetail createStudentDetail(int id, int age) {
+    Student student = new Student();
+    student.setId(id);
+    student.setAge(age);
+    return new StudentDetail(student, new ArrayList<>());
+  }
+
+  @Test
+  void 同じ受講生IDの2回目以降はキャッシュから返されヒットとミスが記録されること() {
+    StudentDetailCache sut = new StudentDetailCache(100, Duration.ofMinutes(10), ticker);
+    AtomicInteger loads = new AtomicInteger();
+    IntFunction<StudentDetail> loader = id -> {
+      loads.incrementAndGet();
+      return createStudentDetail(id, 20);
+    };
+
+    sut.get(1, loader);
+    sut.get(1, loader);
+    sut.get(2, loader);
+
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(sut.stats().hitCount()).isEqualTo(1);
+    assertThat(sut.stats().missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void 有効期限を過ぎた受講生詳細は読み込み直されること() {
+    StudentDetailCache sut = new StudentDetailCache(100, Duration.ofMinutes(10), ticker);
+    AtomicInteger loads = new AtomicInteger();
+    IntFunction<StudentDetail> loader = id -> createStudentDetail(id, loads.incrementAndGet());
+
+    sut.get(1, loader);
+    nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+    StudentDetail actual = sut.get(1, loader);
+
+    assertThat(actual.getStudent().getAge()).isEqualTo(2);
+    assertThat(sut.stats().evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void 最大件数を超えると受講生詳細が破棄されること() {
+    StudentDetailCache sut = new StudentDetailCache(10, Duration.ofMinutes(10), ticker);
+
+    for (int id = 1; id <= 100; id++) {
+      sut.get(id, studentId -> createStudentDetail(studentId, 20));
+    }
+
+    assertThat(sut.estimatedSize()).isLessThanOrEqualTo(10);
+    assertThat(sut.stats().evictionCount()).isGreaterThanOrEqualTo(90);
+  }
+
+  @Test
+  void トランザクション中に破棄した場合はコミット後にも破棄されること() {
+    StudentDetailCache sut = new StudentDetailCache(100, Duration.ofMinutes(10), ticker);
+    AtomicInteger version = new AtomicInteger(1);
+    IntFunction<StudentDetail> loader = id -> createStudentDetail(id, version.get());
+
+    TransactionSynchronizationManager.initSynchronization();
+    sut.invalidate(1);
+    // コミット前に別の参照処理が更新前のデータを読み込んでキャッシュした状態
+    sut.get(1, loader);
+    version.set(2);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    TransactionSynchronizationManager.clearSynchronization();
+
+    assertThat(sut.get(1, loader).getStudent().getAge()).isEqualTo(2);
+  }
+
+  @Test
+  void 更新と参照が並行しても最後の更新のコミット後には最新の受講生詳細が返されること() throws Exception {
+    StudentDetailCache sut = new StudentDetailCache(100, Duration.ofMinutes(10), ticker);
+    AtomicInteger committedVersion = new AtomicInteger();
+    IntFunction<StudentDetail> loader = id -> {
+      int age = committedVersion.get();
+      Thread.yield();
+      return createStudentDetail(id, age);
+    };
+    AtomicBoolean writing = new AtomicBoolean(true);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> readers = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        readers.add(executor.submit(() -> {
+          start.await();
+          while (writing.get()) {
+            int age = sut.get(1, loader).getStudent().getAge();
+            assertThat(age).isLessThanOrEqualTo(committedVersion.get());
+          }
+          return null;
+        }));
+      }
+      Future<?> writer = executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < 1_000; i++) {
+          TransactionSynchronizationManager.initSynchronization();
+          try {
+            sut.invalidate(1);
+            committedVersion.incrementAndGet();
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+          } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+          }
+        }
+        writing.set(false);
+        return null;
+      });
+
+      start.countDown();
+      writer.get(30, TimeUnit.SECONDS);
+      for (Future<?> reader : readers) {
+        reader.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(sut.get(1, loader).getStudent().getAge()).isEqualTo(1_000);
+  }
+}
@@ -0,0 +1,98 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentDocument;
+import raisetech.student.management.domain.StudentDocumentCheckResult;
+import raisetech.student.management.domain.StudentDocumentRebuildResult;
+import raisetech.student.management.repository.StudentRepository;
+
+@MybatisTest
+class StudentDocumentStoreTest {
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private StudentDocumentStore sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentDocumentStore(repository, Jackson2ObjectMapperBuilder.json().build(),
+        transactionManager);
+  }
+
+  @Test
+  void 全件作り直した後は全ての受講生文書がテーブルの内容と一致すること() {
+    StudentDocumentRebuildResult rebuilt = sut.rebuildAll();
+    StudentDocumentCheckResult actual = sut.check();
+
+    assertThat(rebuilt.getRebuiltCount()).isEqualTo(5);
+    assertThat(rebuilt.getDeletedCount()).isZero();
+    assertThat(actual.getCheckedCount()).isEqualTo(5);
+    assertThat(actual.isConsistent()).isTrue();
+    assertThat(sut.find(1)).contains("田中太郎");
+  }
+
+  @Test
+  void 文書が作成されていない受講生はテーブルから組み立てた内容が返ること() {
+    assertThat(sut.find(1)).contains("田中太郎");
+    assertThat(sut.find(999)).isNull();
+
+    StudentDocumentCheckResult actual = sut.check();
+    assertThat(actual.getMissingCount()).isEqualTo(5);
+    assertThat(actual.isConsistent()).isFalse();
+  }
+
+  @Test
+  void 作り直さずにテーブルを変更した受講生は不整合として報告され作り直すと一致すること() {
+    sut.rebuildAll();
+    Student student = repository.searchStudent(1);
+    student.setRemark("文書に反映されていない備考");
+    repository.updateStudent(student);
+
+    StudentDocumentCheckResult stale = sut.check();
+    assertThat(stale.getStaleCount()).isEqualTo(1);
+    assertThat(stale.getInconsistentStudentIds()).containsExactly(1);
+
+    sut.refresh(List.of(1));
+
+    assertThat(sut.check().isConsistent()).isTrue();
+    assertThat(sut.find(1)).contains("文書に反映されていない備考");
+  }
+
+  @Test
+  void コミット後の作り直しは書き込みのトランザクションの中では文書を作り直さないこと() {
+    sut.refreshAfterCommit(List.of(2, 1));
+
+    // テストのトランザクションはコミットされないため、作り直されない
+    assertThat(repository.searchStudentDocument(1)).isNull();
+    assertThat(repository.searchStudentDocument(2)).isNull();
+  }
+
+  @Test
+  void 受講生が存在しない文書は報告され全件作り直すと削除されること() {
+    sut.rebuildAll();
+    repository.saveStudentDocuments(List.of(
+        new StudentDocument(999, "{}", LocalDateTime.of(2024, 11, 7, 14, 0))));
+
+    StudentDocumentCheckResult orphan = sut.check();
+    assertThat(orphan.getOrphanCount()).isEqualTo(1);
+    assertThat(orphan.getInconsistentStudentIds()).containsExactly(999);
+
+    StudentDocumentRebuildResult rebuilt = sut.rebuildAll();
+    assertThat(rebuilt.getDeletedCount()).isEqualTo(1);
+    assertThat(sut.check().isConsistent()).isTrue();
+  }
+}
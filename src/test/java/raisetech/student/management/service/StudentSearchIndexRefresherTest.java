@@ -0,0 +1,79 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
+import raisetech.student.management.repository.StudentRepository;
+
+@MybatisTest
+class StudentSearchIndexRefresherTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 11, 7, 14, 0);
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private StudentChangeFeed studentChangeFeed;
+
+  private StudentSearchIndex studentSearchIndex;
+
+  private StudentSearchIndexRefresher sut;
+
+  @BeforeEach
+  void before() {
+    studentChangeFeed = new StudentChangeFeed(repository, transactionManager, 500, false);
+    studentChangeFeed.publish();
+    studentSearchIndex = new StudentSearchIndex();
+    sut = new StudentSearchIndexRefresher(repository, studentSearchIndex, false);
+  }
+
+  @Test
+  void 他のインスタンスで更新された受講生が変更フィードから検索インデックスに反映されること() {
+    sut.rebuild();
+    Student student = repository.searchStudent(3);
+    student.setName("佐藤三郎");
+    assertThat(repository.updateStudent(student)).isEqualTo(1);
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.受講生更新, 3, null, NOW)));
+    studentChangeFeed.publish();
+
+    assertThat(studentSearchIndex.search("三郎", null, null)).isEqualTo(Optional.of(List.of()));
+
+    assertThat(sut.refresh()).isEqualTo(1);
+    assertThat(studentSearchIndex.search("三郎", null, null)).isEqualTo(Optional.of(List.of(3)));
+    assertThat(studentSearchIndex.search("次郎", null, null)).isEqualTo(Optional.of(List.of()));
+    assertThat(sut.refresh()).isZero();
+  }
+
+  @Test
+  void 申込状況の変更だけの場合は受講生を読み直さないこと() {
+    sut.rebuild();
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.申込状況変更, 1, 1, NOW)));
+    studentChangeFeed.publish();
+
+    assertThat(sut.refresh()).isZero();
+  }
+
+  @Test
+  void 検索インデックスの作成前は変更フィードを読まないこと() {
+    repository.registerStudentChangeOutbox(List.of(
+        new StudentChangeEvent(StudentChangeEvent.Type.受講生更新, 1, null, NOW)));
+    studentChangeFeed.publish();
+
+    assertThat(sut.refresh()).isZero();
+    assertThat(studentSearchIndex.isReady()).isFalse();
+  }
+}
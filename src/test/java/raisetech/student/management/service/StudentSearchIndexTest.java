@@ -0,0 +1,144 @@
+package raisetech.student.management.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.data.Student;
+
+class StudentSearchIndexTest {
+
+  private StudentSearchIndex sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentSearchIndex();
+    sut.rebuild(List.of(
+        createStudent(1, "田中太郎", "たなかたろう", "東京都"),
+        createStudent(2, "鈴木花子", "すずきはなこ", "大阪府"),
+        createStudent(3, "田中花子", "たなかはなこ", "東京都"),
+        createStudent(4, "山田太郎", "やまだたろう", null)));
+  }
+
+  private static Student createStudent(int id, String name, String furigana, String city) {
+    Student student = new Student();
+    student.setId(id);
+    student.setName(name);
+    student.setFurigana(furigana);
+    student.setCity(city);
+    return student;
+  }
+
+  @Test
+  void 部分一致する受講生IDが昇順で返されること() {
+    assertThat(sut.search("田中", null, null)).contains(List.of(1, 3));
+    assertThat(sut.search(null, "はなこ", null)).contains(List.of(2, 3));
+    assertThat(sut.search("太郎", null, "東京")).contains(List.of(1));
+  }
+
+  @Test
+  void 全ての2文字の組を含んでいても部分一致しない受講生は返されないこと() {
+    // 「田中」「中太」の組を両方含むが、「田中太」は含まない受講生
+    sut.update(createStudent(5, "中太田中", "なかたなか", "京都府"));
+
+    assertThat(sut.search("田中太", null, null)).contains(List.of(1));
+  }
+
+  @Test
+  void 該当する受講生がいない場合は空のリストが返されること() {
+    assertThat(sut.search("佐藤", null, null)).contains(List.of());
+    assertThat(sut.search("田中", null, "大阪")).contains(List.of());
+  }
+
+  @Test
+  void インデックスで絞り込めない条件の場合は空のOptionalが返されること() {
+    assertThat(sut.search(null, null, null)).isEmpty();
+    assertThat(sut.search("", "", "")).isEmpty();
+    assertThat(sut.search("田", null, null)).isEmpty();
+    assertThat(sut.search("田中", "た", null)).isEmpty();
+    assertThat(new StudentSearchIndex().search("田中", null, null)).isEmpty();
+  }
+
+  @Test
+  void 候補が上限を超える場合は空のOptionalが返されること() {
+    List<Student> students = new ArrayList<>();
+    for (int id = 1; id <= StudentSearchIndex.MAX_CANDIDATES + 1; id++) {
+      students.add(createStudent(id, "田中" + id, "たなか", "東京都"));
+    }
+    StudentSearchIndex index = new StudentSearchIndex();
+    index.rebuild(students);
+
+    assertThat(index.search("田中", null, null)).isEmpty();
+    assertThat(index.search("田中1000", null, null)).contains(List.of(1000));
+  }
+
+  @Test
+  void 更新した受講生は以前の値では検索されず新しい値で検索されること() {
+    sut.update(createStudent(1, "佐藤太郎", "さとうたろう", "東京都"));
+
+    assertThat(sut.search("田中", null, null)).contains(List.of(3));
+    assertThat(sut.search("佐藤", null, null)).contains(List.of(1));
+  }
+
+  @Test
+  void 大文字小文字と全角半角とひらがなカタカナの違いを区別せずに検索されること() {
+    sut.update(createStudent(5, "Ｊｏｈｎ　ｶﾞｰﾃﾞﾝ", "じょんがーでん", "Café Town"));
+
+    assertThat(sut.search("john", null, null)).contains(List.of(5));
+    assertThat(sut.search("ガーデン", null, null)).contains(List.of(5));
+    assertThat(sut.search(null, null, "CAFE")).contains(List.of(5));
+  }
+
+  @Test
+  void 反映済みよりバージョン番号が古い受講生は反映されないこと() {
+    Student newer = createStudent(1, "佐藤太郎", "さとうたろう", "東京都");
+    newer.setVersion(2);
+    Student older = createStudent(1, "鈴木太郎", "すずきたろう", "東京都");
+    older.setVersion(1);
+
+    sut.update(newer);
+    sut.update(older);
+
+    assertThat(sut.search("佐藤", null, null)).contains(List.of(1));
+    assertThat(sut.search("鈴木太", null, null)).contains(List.of());
+  }
+
+  @Test
+  void 登録した受講生は受講生IDの順序を保って検索されること() {
+    sut.update(createStudent(10, "田中一郎", "たなかいちろう", "福岡県"));
+    sut.update(createStudent(2, "田中花子", "たなかはなこ", "大阪府"));
+
+    assertThat(sut.search("田中", null, null)).contains(List.of(1, 2, 3, 10));
+  }
+
+  @Test
+  void 作成中に更新された受講生は作成で読み込んだ古い値で上書きされないこと() {
+    StudentSearchIndex index = new StudentSearchIndex();
+    Student stale = createStudent(1, "田中太郎", "たなかたろう", "東京都");
+    Iterable<Student> students = () -> new Iterator<>() {
+      private boolean returned;
+
+      @Override
+      public boolean hasNext() {
+        return !returned;
+      }
+
+      @Override
+      public Student next() {
+        // 読み込み中に別の処理で更新がコミットされた状態を再現する
+        index.update(createStudent(1, "佐藤太郎", "さとうたろう", "東京都"));
+        returned = true;
+        return stale;
+      }
+    };
+
+    index.rebuild(students);
+
+    assertThat(index.search("佐藤", null, null)).isEqualTo(Optional.of(List.of(1)));
+    assertThat(index.search("田中", null, null)).isEqualTo(Optional.of(List.of()));
+  }
+}
@@ -2,7 +2,12 @@ package raisetech.student.management.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,17 +15,36 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springdoc.api.OpenApiResourceNotFoundException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import raisetech.student.management.controller.converter.CourseConverter;
 import raisetech.student.management.controller.converter.StudentConverter;
 import raisetech.student.management.data.CourseStatus;
+import raisetech.student.management.data.CourseStatusCount;
 import raisetech.student.management.data.Student;
+import raisetech.student.management.data.StudentChangeEvent;
 import raisetech.student.management.data.StudentCourse;
+import raisetech.student.management.domain.CourseDetail;
+import raisetech.student.management.domain.CourseStatusSummary;
+import raisetech.student.management.domain.CourseStatusTransition;
+import raisetech.student.management.domain.CourseStatusTransitionResult;
 import raisetech.student.management.domain.StudentDetail;
+import raisetech.student.management.domain.StudentDetailPage;
+import raisetech.student.management.domain.StudentSearchResponse;
+import raisetech.student.management.exception.InvalidCourseStatusTransitionException;
+import raisetech.student.management.exception.InvalidCursorException;
+import raisetech.student.management.exception.UpdateConflictException;
 import raisetech.student.management.repository.StudentRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +59,21 @@ class StudentServiceTest {
   @Mock
   private CourseConverter courseConverter;
 
+  @Mock
+  private StudentDetailCache studentDetailCache;
+
+  @Mock
+  private StudentSearchIndex studentSearchIndex;
+
+  @Mock
+  private CourseStatusCounter courseStatusCounter;
+
+  @Mock
+  private StudentActivityStats studentActivityStats;
+
+  @Mock
+  private StudentDocumentStore studentDocumentStore;
+
   private StudentService sut;
 
   private Student student1;
@@ -46,7 +85,14 @@ class StudentServiceTest {
 
   @BeforeEach
   void before() {
-    sut = new StudentService(repository, studentConverter, courseConverter);
+    sut = new StudentService(repository, studentConverter, courseConverter, studentDetailCache,
+        studentSearchIndex, courseStatusCounter, studentActivityStats, studentDocumentStore,
+        new ParallelReads(new SimpleAsyncTaskExecutor()));
+    // トランザクション外のため、申込状況の件数の増減はその場で反映される
+    lenient().doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(courseStatusCounter).applyAfterCommit(any());
   }
 
   private static List<StudentDetail> createTestStudentDetails() {
@@ -72,68 +118,441 @@ class StudentServiceTest {
   }
 
   @Test
-  void 受講生詳細一覧検索_削除フラグがnullのときにリポジトリとコンバータが正しく呼び出される() {
-    Boolean deleted = null;
+  void 条件検索_リポジトリの結合検索に条件がそのまま渡されて結果が返される() {
+    List<StudentSearchResponse> expected = List.of(new StudentSearchResponse());
 
-    List<Student> studentList = new ArrayList<>();
-    List<StudentCourse> studentCourseList = new ArrayList<>();
-    List<StudentDetail> studentDetails = createTestStudentDetails();
+    when(studentSearchIndex.search("田中", null, "東京")).thenReturn(Optional.empty());
+    when(repository.searchIntegratedDetails("田中", null, "東京", 20, "男性", "Javaコース",
+        CourseStatus.Status.受講中, null, null)).thenReturn(expected);
 
-    when(repository.search()).thenReturn(studentList);
-    when(repository.searchStudentCourseList()).thenReturn(studentCourseList);
-    when(studentConverter.convertStudentDetails(studentList, studentCourseList)).thenReturn(studentDetails);
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("田中", null, "東京", 20, "男性",
+        "Javaコース", CourseStatus.Status.受講中, null);
 
-    List<StudentDetail> actualStudentDetails = sut.searchStudentList(deleted);
+    verify(repository, times(1)).searchIntegratedDetails("田中", null, "東京", 20, "男性",
+        "Javaコース", CourseStatus.Status.受講中, null, null);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void 条件検索_ふりがなは正規化した検索キーで検索される() {
+    List<StudentSearchResponse> expected = List.of(new StudentSearchResponse());
+    when(studentSearchIndex.search(null, "たなか", null)).thenReturn(Optional.empty());
+    when(repository.searchIntegratedDetails(null, "たなか", null, null, null, null, null, null, null))
+        .thenReturn(expected);
 
-    verify(repository, times(1)).search();
-    verify(repository, times(1)).searchStudentCourseList();
-    verify(studentConverter, times(1)).convertStudentDetails(studentList, studentCourseList);
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails(null, "ﾀﾅ カ", null, null, null,
+        null, null, null);
 
-    assertEquals(studentDetails, actualStudentDetails);
-    assertEquals(2, actualStudentDetails.size());
+    assertEquals(expected, actual);
   }
 
   @Test
-  void 受講生詳細一覧検索_削除フラグがfalseのときにアクティブな受講生のみが取得される() {
-    Boolean deleted = false;
+  void 条件検索_検索インデックスで絞り込めた場合は候補の受講生IDがリポジトリに渡される() {
+    List<StudentSearchResponse> expected = List.of(new StudentSearchResponse());
+    when(studentSearchIndex.search("田中", null, null)).thenReturn(Optional.of(List.of(1, 7)));
+    when(repository.searchIntegratedDetails("田中", null, null, null, null, null, null,
+        List.of(1, 7), null)).thenReturn(expected);
 
-    List<Student> studentList = new ArrayList<>();
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("田中", null, null, null, null,
+        null, null, null);
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void 条件検索_検索インデックスで該当者がいない場合はリポジトリを呼び出さずに空のリストが返される() {
+    when(studentSearchIndex.search("該当なし", null, null)).thenReturn(Optional.of(List.of()));
+
+    List<StudentSearchResponse> actual = sut.searchIntegratedDetails("該当なし", null, null, null,
+        null, null, null, null);
+
+    assertTrue(actual.isEmpty());
+    verify(repository, never()).searchIntegratedDetails(any(), any(), any(), any(), any(), any(),
+        any(), any(), any());
+  }
+
+  @Test
+  void ページ検索_続きがある場合に1ページ分の受講生詳細と次のカーソルが返される() {
+    Student first = new Student();
+    first.setId(1);
+    Student second = new Student();
+    second.setId(2);
+    Student third = new Student();
+    third.setId(3);
     List<StudentCourse> studentCourseList = new ArrayList<>();
     List<StudentDetail> studentDetails = createTestStudentDetails();
 
-    when(repository.search()).thenReturn(studentList);
-    when(repository.searchStudentCourseList()).thenReturn(studentCourseList);
-    when(studentConverter.convertStudentDetails(studentList, studentCourseList)).thenReturn(studentDetails);
+    when(repository.searchStudentPage(null, null, 3, null)).thenReturn(new ArrayList<>(List.of(first, second, third)));
+    when(repository.searchStudentCoursesByStudentIds(List.of(1, 2))).thenReturn(studentCourseList);
+    when(studentConverter.convertStudentDetails(List.of(first, second), studentCourseList))
+        .thenReturn(studentDetails);
 
-    List<StudentDetail> actualStudentDetails = sut.searchStudentList(deleted);
+    StudentDetailPage actual = sut.searchStudentPage(null, null, 2, null);
 
-    verify(repository, times(1)).search();
-    verify(repository, times(1)).searchStudentCourseList();
-    verify(studentConverter, times(1)).convertStudentDetails(studentList, studentCourseList);
+    verify(repository, times(1)).searchStudentCoursesByStudentIds(List.of(1, 2));
+    assertEquals(studentDetails, actual.getStudentDetailList());
+    assertNotNull(actual.getNextCursor());
 
-    assertFalse(studentDetails.get(0).getStudent().isDeleted());
-    assertEquals(2, actualStudentDetails.size());
+    // 次のカーソルを指定すると、最後の受講生IDより後ろから検索される
+    when(repository.searchStudentPage(null, 2, 3, null)).thenReturn(new ArrayList<>());
+    StudentDetailPage nextPage = sut.searchStudentPage(null, actual.getNextCursor(), 2, null);
+
+    assertTrue(nextPage.getStudentDetailList().isEmpty());
+    assertNull(nextPage.getNextCursor());
   }
 
   @Test
-  void 受講生詳細一覧検索_削除フラグがtrueのときに削除された受講生のみが取得される() {
-    Boolean deleted = true;
-
-    List<Student> studentList = new ArrayList<>();
+  void ページ検索_削除フラグがリポジトリのページ検索に渡される() {
+    Student student = new Student();
+    student.setId(5);
     List<StudentCourse> studentCourseList = new ArrayList<>();
     List<StudentDetail> studentDetails = createTestStudentDetails();
 
-    when(repository.search()).thenReturn(studentList);
-    when(repository.searchStudentCourseList()).thenReturn(studentCourseList);
-    when(studentConverter.convertStudentDetails(studentList, studentCourseList)).thenReturn(studentDetails);
+    when(repository.searchStudentPage(false, null, 11, null)).thenReturn(new ArrayList<>(List.of(student)));
+    when(repository.searchStudentCoursesByStudentIds(List.of(5))).thenReturn(studentCourseList);
+    when(studentConverter.convertStudentDetails(List.of(student), studentCourseList))
+        .thenReturn(studentDetails);
+
+    StudentDetailPage actual = sut.searchStudentPage(false, null, 10, null);
+
+    verify(repository, times(1)).searchStudentPage(false, null, 11, null);
+    assertEquals(studentDetails, actual.getStudentDetailList());
+  }
+
+  @Test
+  void ページ検索_最後のページでは次のカーソルがnullになり件数は上限に丸められる() {
+    Student student = new Student();
+    student.setId(1);
+    List<StudentCourse> studentCourseList = new ArrayList<>();
+
+    when(repository.searchStudentPage(null, null, StudentService.MAX_PAGE_SIZE + 1, null))
+        .thenReturn(new ArrayList<>(List.of(student)));
+    when(repository.searchStudentCoursesByStudentIds(List.of(1))).thenReturn(studentCourseList);
+    when(studentConverter.convertStudentDetails(List.of(student), studentCourseList))
+        .thenReturn(new ArrayList<>());
+
+    StudentDetailPage actual = sut.searchStudentPage(null, null, 100_000, null);
+
+    assertNull(actual.getNextCursor());
+  }
+
+  @Test
+  void ページ検索_解釈できないカーソルを指定した場合は例外が発生する() {
+    assertThrows(InvalidCursorException.class, () -> sut.searchStudentPage(null, "不正なカーソル", 10, null));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void 全件エクスポート_カーソルをコンバータに渡して読み終えたらクローズする() throws Exception {
+    Cursor<Student> studentCursor = mock(Cursor.class);
+    Cursor<StudentCourse> studentCourseCursor = mock(Cursor.class);
+    Consumer<StudentDetail> consumer = studentDetail -> {
+    };
+
+    when(repository.searchStudentCursor()).thenReturn(studentCursor);
+    when(repository.searchStudentCourseCursor()).thenReturn(studentCourseCursor);
+
+    sut.exportStudentDetails(consumer);
+
+    verify(studentConverter, times(1))
+        .convertSortedStudentDetails(studentCursor, studentCourseCursor, consumer);
+    verify(studentCursor, times(1)).close();
+    verify(studentCourseCursor, times(1)).close();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void コース詳細の全件出力_カーソルをコンバータに渡して読み終えたらクローズする() throws Exception {
+    Cursor<StudentCourse> studentCourseCursor = mock(Cursor.class);
+    Cursor<CourseStatus> courseStatusCursor = mock(Cursor.class);
+    Consumer<CourseDetail> consumer = courseDetail -> {
+    };
+
+    when(repository.searchStudentCourseCursorById()).thenReturn(studentCourseCursor);
+    when(repository.searchCourseStatusCursor()).thenReturn(courseStatusCursor);
+
+    sut.exportCourseDetails(consumer);
+
+    verify(courseConverter, times(1))
+        .convertSortedCourseDetails(studentCourseCursor, courseStatusCursor, consumer);
+    verify(studentCourseCursor, times(1)).close();
+    verify(courseStatusCursor, times(1)).close();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void 受講生詳細検索_キャッシュにない場合はリポジトリから読み込んだ受講生詳細が返される() {
+    Student student = new Student();
+    student.setId(1);
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    StudentDetail studentDetail = new StudentDetail(student, studentCourses);
+
+    when(studentDetailCache.get(eq(1), any())).thenAnswer(
+        invocation -> ((IntFunction<StudentDetail>) invocation.getArgument(1)).apply(1));
+    when(repository.searchStudent(1)).thenReturn(student);
+    when(repository.searchStudentCoursesByStudentId(1)).thenReturn(studentCourses);
+    when(studentConverter.convertToStudentDetail(student, studentCourses)).thenReturn(studentDetail);
+
+    StudentDetail actual = sut.searchStudent(1);
+
+    assertEquals(studentDetail, actual);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void 受講生詳細検索_受講生が存在しない場合は例外が発生し受講生詳細は組み立てられない() {
+    when(studentDetailCache.get(eq(999), any())).thenAnswer(
+        invocation -> ((IntFunction<StudentDetail>) invocation.getArgument(1)).apply(999));
+    when(repository.searchStudent(999)).thenReturn(null);
+
+    assertThrows(OpenApiResourceNotFoundException.class, () -> sut.searchStudent(999));
+
+    verify(studentConverter, never()).convertToStudentDetail(any(), any());
+  }
+
+  @Test
+  void 受講生詳細のETag_受講生または受講生コース情報のバージョン番号が変わるとETagが変わる() {
+    Student student = new Student();
+    student.setId(1);
+    StudentCourse studentCourse = new StudentCourse(3, 1, "Javaコース", null, null, 0);
+    StudentDetail studentDetail = new StudentDetail(student, List.of(studentCourse));
+
+    String initial = sut.getStudentETag(studentDetail);
+    assertEquals("\"student-1-0-1-0\"", initial);
+    assertEquals(initial, sut.getStudentETag(studentDetail));
+
+    studentCourse.setVersion(1);
+    String courseUpdated = sut.getStudentETag(studentDetail);
+    student.setVersion(1);
+    String studentUpdated = sut.getStudentETag(studentDetail);
+
+    assertNotEquals(initial, courseUpdated);
+    assertNotEquals(courseUpdated, studentUpdated);
+  }
+
+  @Test
+  void コース一覧のETag_変更フィードと送信待ちの状態から作られる() {
+    when(repository.searchCourseListVersion()).thenReturn("120-125");
+
+    assertEquals("\"courses-120-125\"", sut.getCourseListETag());
+  }
+
+  @Test
+  void 受講生詳細更新_更新した受講生のキャッシュが破棄される() {
+    Student student = new Student();
+    student.setId(7);
+    StudentCourse studentCourse = new StudentCourse(3, 7, "Javaコース", null, null);
+    when(repository.updateStudent(student)).thenReturn(1);
+    when(repository.updateStudentCourse(studentCourse)).thenReturn(1);
+
+    sut.updateStudent(new StudentDetail(student, List.of(studentCourse)));
+
+    verify(repository, times(1)).updateStudent(student);
+    verify(repository, times(1)).updateStudentCourse(studentCourse);
+    verify(studentDetailCache, times(1)).invalidate(7);
+    verify(studentDocumentStore, times(1)).refresh(List.of(7));
+    verify(repository, times(1)).registerStudentChangeOutbox(argThat(events -> events.size() == 1
+        && events.get(0).getEventType() == StudentChangeEvent.Type.受講生更新
+        && events.get(0).getStudentId() == 7 && events.get(0).getCourseId() == null));
+  }
 
-    List<StudentDetail> actualStudentDetails = sut.searchStudentList(deleted);
+  @Test
+  void 申込状況更新_コースを受講している受講生のキャッシュが破棄される() throws Exception {
+    CourseStatus courseStatus = new CourseStatus(1, 3, CourseStatus.Status.本申込);
+    when(repository.searchCourseStatus(3)).thenReturn(new CourseStatus(1, 3, CourseStatus.Status.仮申込));
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(1);
+    when(repository.searchStudentCourseByCourseId(3))
+        .thenReturn(new StudentCourse(3, 7, "Javaコース", null, null));
+
+    sut.updateCourseStatus(courseStatus);
+
+    verify(repository, times(1)).updateCourseStatus(courseStatus);
+    verify(studentDetailCache, times(1)).invalidate(7);
+    verify(studentDocumentStore, times(1)).refresh(List.of(7));
+    verify(repository, times(1)).registerStudentChangeOutbox(argThat(events -> events.size() == 1
+        && events.get(0).getEventType() == StudentChangeEvent.Type.申込状況変更
+        && events.get(0).getStudentId() == 7 && events.get(0).getCourseId() == 3));
+  }
+
+  @Test
+  void 申込状況更新_変更前の申込状況から変更後の申込状況へ件数が移される() throws Exception {
+    CourseStatus courseStatus = new CourseStatus(1, 3, CourseStatus.Status.本申込);
+    when(repository.searchCourseStatus(3)).thenReturn(new CourseStatus(1, 3, CourseStatus.Status.仮申込));
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(1);
+    when(repository.searchStudentCourseByCourseId(3))
+        .thenReturn(new StudentCourse(3, 7, "Javaコース", null, null));
+
+    sut.updateCourseStatus(courseStatus);
+
+    verify(courseStatusCounter, times(1))
+        .changeStatus("Javaコース", CourseStatus.Status.仮申込, CourseStatus.Status.本申込);
+    verify(studentActivityStats, times(1))
+        .recordStatusChange(CourseStatus.Status.仮申込, CourseStatus.Status.本申込);
+  }
+
+  @Test
+  void 受講生詳細登録_受講生の登録数とコース名ごとの受講登録数が記録される() {
+    Student student = new Student();
+    student.setId(7);
+    StudentCourse studentCourse = new StudentCourse(3, 0, "Javaコース", null, null);
+
+    sut.registerStudent(new StudentDetail(student, List.of(studentCourse)));
+
+    verify(courseStatusCounter, times(1)).increment("Javaコース", CourseStatus.Status.仮申込);
+    verify(studentActivityStats, times(1)).recordRegistration();
+    verify(studentActivityStats, times(1)).recordEnrollment("Javaコース");
+    verify(repository, times(1)).registerStudentChangeOutbox(argThat(events -> events.size() == 1
+        && events.get(0).getEventType() == StudentChangeEvent.Type.受講生登録
+        && events.get(0).getStudentId() == 7));
+  }
+
+  @Test
+  void 受講生詳細更新_コース名が変わる場合は申込状況の件数が変更後のコース名へ移される() {
+    Student student = new Student();
+    student.setId(7);
+    StudentCourse studentCourse = new StudentCourse(3, 7, "Pythonコース", null, null);
+    when(repository.searchStudentCourseByCourseId(3))
+        .thenReturn(new StudentCourse(3, 7, "Javaコース", null, null));
+    when(repository.searchCourseStatus(3)).thenReturn(new CourseStatus(1, 3, CourseStatus.Status.受講中));
+    when(repository.updateStudent(student)).thenReturn(1);
+    when(repository.updateStudentCourse(studentCourse)).thenReturn(1);
+
+    sut.updateStudent(new StudentDetail(student, List.of(studentCourse)));
+
+    verify(courseStatusCounter, times(1))
+        .changeCourseName("Javaコース", "Pythonコース", CourseStatus.Status.受講中);
+    verify(courseStatusCounter, never()).markStale();
+  }
+
+  @Test
+  void 受講生詳細更新_コース名の変更中に申込状況が変更されていた場合は申込状況の件数の作り直しが予約される() {
+    Student student = new Student();
+    student.setId(7);
+    StudentCourse studentCourse = new StudentCourse(3, 7, "Pythonコース", null, null);
+    CourseStatus changed = new CourseStatus(1, 3, CourseStatus.Status.受講終了);
+    changed.setVersion(1);
+    when(repository.searchStudentCourseByCourseId(3))
+        .thenReturn(new StudentCourse(3, 7, "Javaコース", null, null));
+    when(repository.searchCourseStatus(3))
+        .thenReturn(new CourseStatus(1, 3, CourseStatus.Status.受講中), changed);
+    when(repository.updateStudent(student)).thenReturn(1);
+    when(repository.updateStudentCourse(studentCourse)).thenReturn(1);
+
+    sut.updateStudent(new StudentDetail(student, List.of(studentCourse)));
+
+    verify(courseStatusCounter, times(1)).markStale();
+    verify(courseStatusCounter, never()).rebuild();
+  }
+
+  @Test
+  void 受講生詳細更新_受講生が他の更新で変更されていた場合は例外が発生し受講生コース情報は更新されない() {
+    Student student = new Student();
+    student.setId(7);
+    StudentCourse studentCourse = new StudentCourse(3, 7, "Javaコース", null, null);
+    when(repository.updateStudent(student)).thenReturn(0);
+
+    assertThrows(UpdateConflictException.class,
+        () -> sut.updateStudent(new StudentDetail(student, List.of(studentCourse))));
+
+    verify(repository, never()).updateStudentCourse(any());
+    verify(studentDetailCache, never()).invalidate(7);
+  }
+
+  @Test
+  void 申込状況更新_バージョン番号が一致しない場合は更新せずに例外が発生する() {
+    CourseStatus courseStatus = new CourseStatus(1, 3, CourseStatus.Status.本申込, 0);
+    when(repository.searchCourseStatus(3))
+        .thenReturn(new CourseStatus(1, 3, CourseStatus.Status.受講中, 1));
+
+    assertThrows(UpdateConflictException.class, () -> sut.updateCourseStatus(courseStatus));
+
+    verify(repository, never()).updateCourseStatus(any());
+    verify(courseStatusCounter, never()).changeStatus(any(), any(), any());
+  }
+
+  @Test
+  void 申込状況登録_コース名と申込状況の件数が増える() {
+    CourseStatus courseStatus = new CourseStatus(0, 3, CourseStatus.Status.仮申込);
+    when(repository.searchStudentCourseByCourseId(3))
+        .thenReturn(new StudentCourse(3, 7, "Javaコース", null, null));
+
+    sut.registerCourseStatus(courseStatus);
+
+    verify(repository, times(1)).registerCourseStatus(courseStatus);
+    verify(courseStatusCounter, times(1)).increment("Javaコース", CourseStatus.Status.仮申込);
+  }
+
+  @Test
+  void 申込状況集計_メモリ上の集計結果が返される() {
+    List<CourseStatusSummary> summaries = List.of(new CourseStatusSummary());
+    when(courseStatusCounter.summarize()).thenReturn(summaries);
+
+    List<CourseStatusSummary> actual = sut.getCourseStatusSummary();
+
+    assertEquals(summaries, actual);
+    verify(repository, never()).countCourseStatuses();
+  }
+
+  @Test
+  void 申込状況一括変更_条件に合うコースを1回のUPDATEで変更し変更した受講生のキャッシュだけ破棄する() {
+    CourseStatusTransition transition = new CourseStatusTransition(CourseStatus.Status.受講中, null,
+        "Javaコース", CourseStatus.Status.本申込, null, null, null);
+    List<CourseStatusCount> previousStatusCounts = List.of(
+        new CourseStatusCount("Javaコース", CourseStatus.Status.本申込, 30_000));
+    when(repository.lockCourseStatusesForTransition(transition, null)).thenReturn(List.of(3, 5));
+    when(repository.searchStudentCoursesByCourseIds(List.of(3, 5))).thenReturn(List.of(
+        new StudentCourse(3, 7, "Javaコース", null, null), new StudentCourse(5, 7, "Javaコース", null, null)));
+    when(repository.countCourseStatusesForTransition(transition, null)).thenReturn(previousStatusCounts);
+    when(repository.updateCourseStatusesForTransition(transition, null)).thenReturn(30_000);
+
+    CourseStatusTransitionResult actual = sut.transitionCourseStatuses(transition);
+
+    assertEquals(30_000, actual.getUpdatedCount());
+    assertEquals(previousStatusCounts, actual.getPreviousStatusCounts());
+    verify(repository, times(1)).lockCourseStatusesForTransition(transition, null);
+    verify(repository, times(1)).updateCourseStatusesForTransition(transition, null);
+    verify(studentDetailCache, times(1)).invalidate(7);
+    verify(studentDetailCache, never()).invalidateAll();
+    verify(studentDocumentStore, times(1)).refreshAfterCommit(Set.of(7));
+    verify(studentDocumentStore, never()).refresh(any());
+    verify(repository, times(1)).registerStudentChangeOutbox(argThat(events -> events.stream()
+        .map(StudentChangeEvent::getCourseId).toList().equals(List.of(3, 5))
+        && events.stream().allMatch(event -> event.getStudentId() == 7
+            && event.getEventType() == StudentChangeEvent.Type.申込状況変更)));
+    verify(courseStatusCounter, times(1)).changeStatus("Javaコース", CourseStatus.Status.本申込,
+        CourseStatus.Status.受講中, 30_000);
+    verify(studentActivityStats, times(1))
+        .recordStatusChanges(CourseStatus.Status.本申込, CourseStatus.Status.受講中, 30_000);
+  }
+
+  @Test
+  void 申込状況一括変更_受講生コースIDのリストはIN句の上限件数ごとに分けて変更される() {
+    List<Integer> courseIds = IntStream.rangeClosed(1, StudentService.TRANSITION_CHUNK_SIZE * 2 + 1)
+        .boxed().toList();
+    CourseStatusTransition transition = new CourseStatusTransition(CourseStatus.Status.受講終了,
+        courseIds, null, null, null, null, null);
+    when(repository.updateCourseStatusesForTransition(eq(transition), any()))
+        .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+    CourseStatusTransitionResult actual = sut.transitionCourseStatuses(transition);
+
+    assertEquals(courseIds.size(), actual.getUpdatedCount());
+    verify(repository, times(1)).updateCourseStatusesForTransition(transition,
+        courseIds.subList(0, StudentService.TRANSITION_CHUNK_SIZE));
+    verify(repository, times(1)).updateCourseStatusesForTransition(transition,
+        courseIds.subList(StudentService.TRANSITION_CHUNK_SIZE * 2, courseIds.size()));
+    verify(repository, times(3)).lockCourseStatusesForTransition(eq(transition), any());
+    verify(studentDetailCache, never()).invalidateAll();
+  }
+
+  @Test
+  void 申込状況一括変更_条件が指定されていない場合は例外が発生し変更されない() {
+    CourseStatusTransition transition = new CourseStatusTransition(CourseStatus.Status.受講中, null,
+        null, null, null, null, null);
 
-    verify(repository, times(1)).search();
-    verify(repository, times(1)).searchStudentCourseList();
-    verify(studentConverter, times(1)).convertStudentDetails(studentList, studentCourseList);
+    assertThrows(InvalidCourseStatusTransitionException.class,
+        () -> sut.transitionCourseStatuses(transition));
 
-    assertTrue(studentDetails.get(1).getStudent().isDeleted());
-    assertEquals(2, actualStudentDetails.size());
+    verify(repository, never()).updateCourseStatusesForTransition(any(), any());
   }
-}
\ No newline at end of file
+}
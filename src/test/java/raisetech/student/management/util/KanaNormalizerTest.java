@@ -0,0 +1,44 @@
+package raisetech.student.management.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KanaNormalizerTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"たなかたろう", "タナカタロウ", "ﾀﾅｶﾀﾛｳ", "タナカ　タロウ", "たなか タロウ"})
+  void ひらがなとカタカナと全角半角と空白の違いが同じ検索キーになること(String furigana) {
+    assertThat(KanaNormalizer.normalize(furigana)).isEqualTo("たなかたろう");
+  }
+
+  @Test
+  void 半角カタカナの濁点と半濁点が合成されること() {
+    assertThat(KanaNormalizer.normalize("ｶﾞｯﾎﾟｰ")).isEqualTo("がっぽー");
+  }
+
+  @Test
+  void 小書き文字とヴが対応するひらがなになること() {
+    assertThat(KanaNormalizer.normalize("ヴァイオリン・ケ")).isEqualTo("ゔぁいおりん・け");
+    assertThat(KanaNormalizer.normalize("ァヵヶ")).isEqualTo("ぁゕゖ");
+  }
+
+  @Test
+  void 全角英字が半角の小文字になること() {
+    assertThat(KanaNormalizer.normalize("ＪＯＨＮ Smith")).isEqualTo("johnsmith");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"ガッコウ Café", "ｶﾞｯｺｳ CAFE", "かっこう café", "ｶｯｺｳ ｃａｆｅ"})
+  void 比較用の値では大文字小文字と全角半角とアクセントと濁点の違いが同じになり空白は残ること(String value) {
+    assertThat(KanaNormalizer.fold(value)).isEqualTo("かっこう cafe");
+  }
+
+  @Test
+  void nullの場合はnullが返されること() {
+    assertThat(KanaNormalizer.normalize(null)).isNull();
+    assertThat(KanaNormalizer.fold(null)).isNull();
+  }
+}
@@ -1,3 +1,4 @@
+-- テスト用のデータ（furigana_key は V3 のマイグレーションで設定される）
 INSERT INTO students (name, furigana, nickname, email, city, age, gender)
 VALUES
 ('田中太郎', 'たなかたろう', 'たろう', 'taro.tanaka@example.com', '東京', 20, '男性'),